@@ -0,0 +1,186 @@
+package cpsc2150.extendedTicTacToe.bench;
+
+import cpsc2150.extendedTicTacToe.models.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This class benchmarks the {@link IGameBoard} implementations against each other on square boards
+ * from 3x3 to 20x20 at several fill ratios, so the cutoff between them can be picked from data.
+ * Running the jar runs every benchmark with the allocation profiler.
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    private static final char[] PLAYERS = {'X', 'B'};
+
+    @Param({"3", "5", "8", "10", "15", "20"})
+    private int size;
+
+    @Param({"0.1", "0.5", "0.9"})
+    private double fill;
+
+    @Param({"GameBoard", "GameBoardMem", "GameBoardBit", "GameBoardCompact", "AdaptiveGameBoard", "PlayoutBoard"})
+    private String impl;
+
+    private IGameBoard board;
+    private BoardPosition[] placed;
+    private BoardPosition[] empty;
+    private int next;
+
+    /**
+     * <p>
+     * This fills a board of the benchmarked kind with the benchmarked share of random markers.
+     * </p>
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(2150);
+        List<BoardPosition> cells = new ArrayList<>();
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                cells.add(BoardPosition.of(r, c));
+            }
+        }
+        Collections.shuffle(cells, random);
+
+        int numPlaced = Math.max(1, Math.min(cells.size() - 1, (int) (fill * cells.size())));
+        placed = cells.subList(0, numPlaced).toArray(new BoardPosition[0]);
+        empty = cells.subList(numPlaced, cells.size()).toArray(new BoardPosition[0]);
+        board = newBoard();
+        for (int i = 0; i < placed.length; i++) {
+            board.placeMarker(placed[i], PLAYERS[i % PLAYERS.length]);
+        }
+        next = 0;
+    }
+
+    /**
+     * <p>
+     * This creates an empty board of the benchmarked kind and size.
+     * </p>
+     *
+     * @return the new board
+     */
+    private IGameBoard newBoard() {
+        int numWin = Math.min(size, 5);
+        switch (impl) {
+            case "GameBoardMem":
+                return new GameBoardMem(size, size, numWin);
+            case "GameBoardBit":
+                return new GameBoardBit(size, size, numWin);
+            case "GameBoardCompact":
+                return new GameBoardCompact(size, size, numWin);
+            case "AdaptiveGameBoard":
+                return new AdaptiveGameBoard(size, size, numWin);
+            case "PlayoutBoard":
+                return new PlayoutBoard(size, size, numWin);
+            default:
+                return new GameBoard(size, size, numWin);
+        }
+    }
+
+    /**
+     * <p>
+     * This builds a board from nothing up to the benchmarked fill.
+     * </p>
+     *
+     * @return the filled board
+     */
+    @Benchmark
+    public IGameBoard fillBoard() {
+        IGameBoard b = newBoard();
+        for (int i = 0; i < placed.length; i++) {
+            b.placeMarker(placed[i], PLAYERS[i % PLAYERS.length]);
+        }
+        return b;
+    }
+
+    /**
+     * <p>
+     * This places one marker on the filled board and takes it back.
+     * </p>
+     */
+    @Benchmark
+    public void placeMarker() {
+        board.placeMarker(empty[next], PLAYERS[0]);
+        board.undo();
+        next = next + 1 == empty.length ? 0 : next + 1;
+    }
+
+    /**
+     * <p>
+     * This reads every position of the filled board.
+     * </p>
+     *
+     * @param hole
+     *      Keeps the reads from being optimized away
+     */
+    @Benchmark
+    public void whatsAtPos(Blackhole hole) {
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                hole.consume(board.whatsAtPos(BoardPosition.of(r, c)));
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * This checks for a win through one of the markers on the filled board.
+     * </p>
+     *
+     * @return whether the marker is part of a win
+     */
+    @Benchmark
+    public boolean checkForWinner() {
+        BoardPosition pos = placed[next];
+        next = next + 1 == placed.length ? 0 : next + 1;
+        return board.checkForWinner(pos);
+    }
+
+    /**
+     * <p>
+     * This checks the filled board for a draw.
+     * </p>
+     *
+     * @return whether the board is full
+     */
+    @Benchmark
+    public boolean checkForDraw() {
+        return board.checkForDraw();
+    }
+
+    /**
+     * <p>
+     * This runs the benchmarks with allocation profiling. For any other JMH options, run
+     * {@code org.openjdk.jmh.Main} from the jar instead.
+     * </p>
+     *
+     * @param args
+     *            A regular expression picking the benchmarks to run, or nothing to run them all.
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BoardBenchmark.class.getSimpleName() + (args.length > 0 ? "." + args[0] : ""))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,59 @@
+package cpsc2150.extendedTicTacToe.ai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * This class checks that ThreatEvaluator never scores a position in the range AlphaBetaSearch keeps for wins
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ */
+public class ThreatEvaluatorTest {
+    private static final int SIZE = 20;
+    private static final int NUM_TO_WIN = 9;
+
+    @Test
+    public void openEightRunStaysBelowWinScore() {
+        ThreatEvaluator threats = new ThreatEvaluator(SIZE, SIZE, NUM_TO_WIN, 2, 0);
+        //one open run of 8 on row 10 fills a whole window on its own
+        for (int c = 5; c < 5 + NUM_TO_WIN - 1; c++) {
+            threats.place(10 * SIZE + c, 0);
+        }
+        assertTrue(threats.getScore() > 0);
+        assertTrue(threats.getScore() < AlphaBetaSearch.WIN_SCORE / 2);
+    }
+
+    @Test
+    public void manyEightRunsStayInsideWinScoreForBothSeats() {
+        ThreatEvaluator mine = new ThreatEvaluator(SIZE, SIZE, NUM_TO_WIN, 2, 0);
+        ThreatEvaluator theirs = new ThreatEvaluator(SIZE, SIZE, NUM_TO_WIN, 2, 1);
+        //runs of 8 on every other row, each far from winning but together worth many windows of 2^20
+        for (int r = 0; r < SIZE; r += 2) {
+            for (int c = 1; c < NUM_TO_WIN; c++) {
+                mine.place(r * SIZE + c, 0);
+                theirs.place(r * SIZE + c, 0);
+            }
+        }
+        assertTrue(mine.getScore() < AlphaBetaSearch.WIN_SCORE / 2);
+        assertTrue(mine.getScore() > 0);
+        assertTrue(theirs.getScore() > -AlphaBetaSearch.WIN_SCORE / 2);
+        assertTrue(theirs.getScore() < 0);
+    }
+
+    @Test
+    public void removingMarkersRestoresTheScore() {
+        ThreatEvaluator threats = new ThreatEvaluator(SIZE, SIZE, NUM_TO_WIN, 2, 0);
+        threats.place(0, 1);
+        int before = threats.getScore();
+        for (int c = 5; c < 5 + NUM_TO_WIN - 1; c++) {
+            threats.place(10 * SIZE + c, 0);
+        }
+        for (int c = 5; c < 5 + NUM_TO_WIN - 1; c++) {
+            threats.remove(10 * SIZE + c, 0);
+        }
+        assertEquals(before, threats.getScore());
+    }
+}
@@ -0,0 +1,51 @@
+package cpsc2150.extendedTicTacToe.models;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * This class checks that every board implementation reports positions off the board as unavailable,
+ * as the IGameBoard.checkSpace contract requires, instead of reading past the edge of its storage
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ */
+public class CheckSpaceTest {
+    private static final int ROWS = 5;
+    private static final int COLUMNS = 7;
+    private static final int NUM_TO_WIN = 3;
+
+    private static IGameBoard[] boards() {
+        return new IGameBoard[] {
+                new GameBoard(ROWS, COLUMNS, NUM_TO_WIN),
+                new GameBoardMem(ROWS, COLUMNS, NUM_TO_WIN),
+                new GameBoardBit(ROWS, COLUMNS, NUM_TO_WIN),
+                new GameBoardCompact(ROWS, COLUMNS, NUM_TO_WIN),
+                new AdaptiveGameBoard(ROWS, COLUMNS, NUM_TO_WIN),
+                new ConcurrentGameBoard(new GameBoardCompact(ROWS, COLUMNS, NUM_TO_WIN))
+        };
+    }
+
+    @Test
+    public void offBoardPositionsAreNotAvailable() {
+        int[][] offBoard = {{-1, 0}, {0, -1}, {ROWS, 0}, {0, COLUMNS}, {ROWS, COLUMNS}, {-1, -1}, {ROWS + 5, 2}};
+        for (IGameBoard board : boards()) {
+            for (int[] pos : offBoard) {
+                assertFalse(board.getClass().getSimpleName() + " at " + pos[0] + "," + pos[1],
+                        board.checkSpace(BoardPosition.of(pos[0], pos[1])));
+            }
+        }
+    }
+
+    @Test
+    public void onBoardPositionsStillReportTheirMarkers() {
+        for (IGameBoard board : boards()) {
+            board.placeMarker(BoardPosition.of(1, 0), 'X');
+            assertFalse(board.getClass().getSimpleName(), board.checkSpace(BoardPosition.of(1, 0)));
+            assertTrue(board.getClass().getSimpleName(), board.checkSpace(BoardPosition.of(0, COLUMNS - 1)));
+            assertTrue(board.getClass().getSimpleName(), board.checkSpace(BoardPosition.of(ROWS - 1, COLUMNS - 1)));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package cpsc2150.extendedTicTacToe;
+
+import cpsc2150.extendedTicTacToe.server.GameServer;
+import java.io.IOException;
+
+/**
+ * This class is the server entry point of our program. It hosts matches for clients that connect over TCP
+ * and send the line commands described in GameServer, until the process is stopped.
+ *
+ * @version 1.0
+ */
+public final class TicTacToeServer {
+
+    private static final String USAGE = "usage: TicTacToeServer [port]";
+
+    private TicTacToeServer() {
+    }
+
+    /**
+     * <p>
+     * This method starts the server and serves clients until the process is stopped.
+     * </p>
+     *
+     * @param args
+     *            Command-line arguments: optionally the port to listen on.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = GameServer.DEFAULT_PORT;
+        if (args.length > 1) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        else if (args.length == 1) {
+            port = Integer.parseInt(args[0]);
+        }
+
+        GameServer server = new GameServer(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            }
+            catch (IOException e) {
+                System.err.println("Could not stop the server: " + e.getMessage());
+            }
+        }));
+        System.out.println("Serving tic tac toe on port " + server.getPort());
+        server.serve();
+    }
+}
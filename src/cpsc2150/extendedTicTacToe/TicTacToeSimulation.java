@@ -0,0 +1,174 @@
+package cpsc2150.extendedTicTacToe;
+
+import cpsc2150.extendedTicTacToe.ai.*;
+import cpsc2150.extendedTicTacToe.models.*;
+import cpsc2150.extendedTicTacToe.server.GameServer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class is the headless entry point of our program. It plays games between computer players
+ * on every core without opening any windows, and reports how fast they ran and who won.
+ *
+ * @version 1.0
+ */
+public final class TicTacToeSimulation {
+
+    private static final char[] PLAYERS = {'X','B','C','D','E','F','G','H','I','J'};
+
+    private static final String USAGE =
+            "usage: TicTacToeSimulation rows cols numToWin players games [random|alphabeta|montecarlo] [millis|playouts] [threads]";
+
+    private TicTacToeSimulation() {
+    }
+
+    /**
+     * <p>
+     * This method runs the simulation and prints its report.
+     * </p>
+     *
+     * @param args
+     *            Command-line arguments: rows, columns, number to win, number of players and number of games,
+     *            then optionally the computer player to use, its time or playout budget per move and the number of threads.
+     */
+    public static void main(String[] args) throws InterruptedException, ExecutionException, IOException {
+        if (args.length < 5) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        int rows = Integer.parseInt(args[0]);
+        int cols = Integer.parseInt(args[1]);
+        int numWin = Integer.parseInt(args[2]);
+        int players = Integer.parseInt(args[3]);
+        int games = Integer.parseInt(args[4]);
+        String bot = args.length > 5 ? args[5] : "random";
+        //the budget is a time in milliseconds for alphabeta and a number of playouts for montecarlo
+        long budget = args.length > 6 ? Long.parseLong(args[6])
+                : bot.equals("montecarlo") ? MonteCarloPlayer.DEFAULT_PLAYOUTS : AlphaBetaPlayer.DEFAULT_TIME_BUDGET;
+        int threads = args.length > 7 ? Integer.parseInt(args[7]) : Runtime.getRuntime().availableProcessors();
+
+        //the same limits as the setup screen and the server, plus at least one game on at least one thread
+        String error = GameServer.checkSettings(rows, cols, numWin, players);
+        if (error == null && (games < 1 || threads < 1)) {
+            error = "Games and threads must be at least 1";
+        }
+        if (error != null) {
+            System.err.println(error);
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        if (!bot.equals("random") && !bot.equals("alphabeta") && !bot.equals("montecarlo")) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+
+        //play small boards from the opening book when TicTacToeSolver has built one
+        OpeningBook book = null;
+        Path bookFile = Paths.get(OpeningBook.DEFAULT_FILE);
+        if (bot.equals("alphabeta") && Files.exists(bookFile)) {
+            book = OpeningBook.load(bookFile);
+        }
+        OpeningBook openings = book;
+
+        char[] seats = new char[players];
+        System.arraycopy(PLAYERS, 0, seats, 0, players);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> results = new ArrayList<>();
+        List<IComputerPlayer> computers = Collections.synchronizedList(new ArrayList<>());
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            //spread the games as evenly as possible over the threads
+            int share = games / threads + (t < games % threads ? 1 : 0);
+            results.add(pool.submit(() -> {
+                IComputerPlayer computer;
+                if (bot.equals("random")) {
+                    computer = new RandomPlayer();
+                }
+                else if (bot.equals("alphabeta")) {
+                    computer = new AlphaBetaPlayer(budget, openings);
+                }
+                else {
+                    computer = new MonteCarloPlayer((int) budget);
+                }
+                computers.add(computer);
+                return playGames(rows, cols, numWin, seats, share, computer);
+            }));
+        }
+
+        //wins by seat, then draws, then total moves
+        long[] totals = new long[players + 2];
+        for (Future<long[]> result : results) {
+            long[] counts = result.get();
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += counts[i];
+            }
+        }
+        pool.shutdown();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d games of %dx%d, %d to win, %d players, %s%s, %d threads%n",
+                games, rows, cols, numWin, players, bot, book == null ? "" : " with opening book", threads);
+        System.out.printf("%.1f games/second%n", games / seconds);
+        for (int s = 0; s < players; s++) {
+            System.out.printf("%c wins: %d (%.1f%%)%n", seats[s], totals[s], 100.0 * totals[s] / games);
+        }
+        System.out.printf("draws: %d (%.1f%%)%n", totals[players], 100.0 * totals[players] / games);
+        System.out.printf("average game length: %.1f moves%n", (double) totals[players + 1] / games);
+        if (bot.equals("montecarlo")) {
+            double rate = 0;
+            for (IComputerPlayer computer : computers) {
+                rate += ((MonteCarloPlayer) computer).getPlayoutsPerSecond();
+            }
+            System.out.printf("%.0f playouts/second%n", rate);
+        }
+    }
+
+    /**
+     * <p>
+     * This method plays games with one computer player in every seat.
+     * </p>
+     *
+     * @param rows
+     *      Number of rows for the board
+     * @param cols
+     *      Number of columns for the board
+     * @param numWin
+     *      Number of tokens in a row required to win
+     * @param seats
+     *      The character of each seat
+     * @param games
+     *      Number of games to play
+     * @param computer
+     *      The computer player that picks every move
+     *
+     * @return the wins of each seat, followed by the number of draws and the total number of moves
+     */
+    private static long[] playGames(int rows, int cols, int numWin, char[] seats, int games,
+                                    IComputerPlayer computer) {
+        long[] counts = new long[seats.length + 2];
+        for (int g = 0; g < games; g++) {
+            GameEngine engine = new GameEngine(new GameBoard(rows, cols, numWin), seats, true);
+            while (!engine.isGameOver()) {
+                engine.playMove(computer.chooseMove(engine.getBoard(), seats, engine.getCurrentSeat()));
+            }
+            if (engine.isDraw()) {
+                counts[seats.length]++;
+            }
+            else {
+                counts[engine.getCurrentSeat()]++;
+            }
+            counts[seats.length + 1] += engine.getNumMoves();
+        }
+        return counts;
+    }
+}
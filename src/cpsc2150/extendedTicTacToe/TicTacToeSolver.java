@@ -0,0 +1,44 @@
+package cpsc2150.extendedTicTacToe;
+
+import cpsc2150.extendedTicTacToe.ai.OpeningBook;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * This class is the entry point that builds the opening book. It solves every small board the book covers
+ * and saves the result, which the computer players then load instead of searching those positions.
+ *
+ * @version 1.0
+ */
+public final class TicTacToeSolver {
+
+    private static final String USAGE = "usage: TicTacToeSolver [plies] [file]";
+
+    private TicTacToeSolver() {
+    }
+
+    /**
+     * <p>
+     * This method builds the opening book and saves it.
+     * </p>
+     *
+     * @param args
+     *            Command-line arguments: optionally the number of markers on the deepest positions in the book
+     *            and the file to save it to.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length > 2) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        int plies = args.length > 0 ? Integer.parseInt(args[0]) : OpeningBook.DEFAULT_PLIES;
+        Path file = Paths.get(args.length > 1 ? args[1] : OpeningBook.DEFAULT_FILE);
+
+        long start = System.nanoTime();
+        OpeningBook book = OpeningBook.build(plies);
+        book.save(file);
+        System.out.printf("%d positions up to %d plies solved in %.1f seconds and saved to %s%n",
+                book.getNumEntries(), plies, (System.nanoTime() - start) / 1e9, file);
+    }
+}
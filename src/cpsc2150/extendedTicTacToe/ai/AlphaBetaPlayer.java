@@ -0,0 +1,293 @@
+package cpsc2150.extendedTicTacToe.ai;
+
+import cpsc2150.extendedTicTacToe.models.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class is a computer player that picks moves with an alpha-beta search
+ * The search deepens one ply at a time until its time budget runs out, and keeps the best move of the
+ * deepest search that finished. With more than two players every other seat is treated as one opponent
+ * working against the moving seat. Only empty positions near markers already on the board are searched,
+ * best looking first, so large boards stay within the budget. Results are kept in a transposition table
+ * keyed by the board's Zobrist hash, so positions reached again are not searched twice. Given an OpeningBook,
+ * positions the book covers are played straight from it without searching
+ * <p>
+ * With more than one thread, the best move so far is searched first and the rest of the moves are then
+ * split across a ForkJoinPool. Each worker searches its own copy of the board, and all of them share the
+ * transposition table and the best score any worker has proven, which every worker reads at each position it
+ * searches. A move is only taken when its score beats that shared score, since a move that does not beat it
+ * only returns a bound
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant timeBudget > 0 AND maxWidth > 0 AND table ≠ null
+ *            AND (pool = null iff the player searches on the calling thread)
+ */
+public class AlphaBetaPlayer implements IComputerPlayer {
+    /**
+     * The time a move may take, in milliseconds, when no budget is given
+     */
+    public static final long DEFAULT_TIME_BUDGET = 100;
+
+    private static final int DEFAULT_WIDTH = 12;
+    private static final int TABLE_BITS = 18;
+    private static final int PARALLEL_TABLE_BITS = 22;
+
+    //what a worker returns for a move that did not beat the best score proven so far
+    private static final int NO_SCORE = Integer.MIN_VALUE;
+
+    private final long timeBudget;
+    private final int maxWidth;
+    private final TranspositionTable table;
+    private final ForkJoinPool pool;
+    private final OpeningBook book;
+
+    /**
+     * Default constructor creates a player with the default time budget
+     *
+     * @pre     NONE
+     *
+     * @post    timeBudget = DEFAULT_TIME_BUDGET AND maxWidth = DEFAULT_WIDTH AND pool = null
+     */
+    public AlphaBetaPlayer() {
+        this(DEFAULT_TIME_BUDGET);
+    }
+
+    /**
+     * Parameterized constructor creates a player with a time budget
+     *
+     * @param   millis the time a move may take, in milliseconds
+     *
+     * @pre     millis > 0
+     *
+     * @post    timeBudget = millis AND maxWidth = DEFAULT_WIDTH AND pool = null
+     */
+    public AlphaBetaPlayer(long millis) {
+        this(millis, DEFAULT_WIDTH);
+    }
+
+    /**
+     * Parameterized constructor creates a player with a time budget that plays from an opening book where it can
+     *
+     * @param   millis   the time a move may take, in milliseconds
+     * @param   openings the book to play from, or null to always search
+     *
+     * @pre     millis > 0
+     *
+     * @post    timeBudget = millis AND maxWidth = DEFAULT_WIDTH AND pool = null AND book = openings
+     */
+    public AlphaBetaPlayer(long millis, OpeningBook openings) {
+        this(millis, DEFAULT_WIDTH, 1, openings);
+    }
+
+    /**
+     * Parameterized constructor creates a player with a time budget and search width
+     *
+     * @param   millis the time a move may take, in milliseconds
+     * @param   width  the number of moves searched at each position below the root
+     *
+     * @pre     millis > 0 AND width > 0
+     *
+     * @post    timeBudget = millis AND maxWidth = width AND pool = null
+     *          AND table = [empty table of 2^TABLE_BITS slots]
+     */
+    public AlphaBetaPlayer(long millis, int width) {
+        this(millis, width, 1);
+    }
+
+    /**
+     * Parameterized constructor creates a player that searches on several threads
+     *
+     * @param   millis  the time a move may take, in milliseconds
+     * @param   width   the number of moves searched at each position below the root
+     * @param   threads the number of threads to search with
+     *
+     * @pre     millis > 0 AND width > 0 AND threads > 0
+     *
+     * @post    timeBudget = millis AND maxWidth = width
+     *          AND (pool = null iff threads = 1) AND [pool has threads workers]
+     *          AND table = [empty table, larger when threads > 1] AND book = null
+     */
+    public AlphaBetaPlayer(long millis, int width, int threads) {
+        this(millis, width, threads, null);
+    }
+
+    /**
+     * Parameterized constructor creates a player that plays from an opening book where it can
+     *
+     * @param   millis   the time a move may take, in milliseconds
+     * @param   width    the number of moves searched at each position below the root
+     * @param   threads  the number of threads to search with
+     * @param   openings the book to play from, or null to always search
+     *
+     * @pre     millis > 0 AND width > 0 AND threads > 0
+     *
+     * @post    timeBudget = millis AND maxWidth = width
+     *          AND (pool = null iff threads = 1) AND [pool has threads workers]
+     *          AND table = [empty table, larger when threads > 1] AND book = openings
+     */
+    public AlphaBetaPlayer(long millis, int width, int threads, OpeningBook openings) {
+        book = openings;
+        timeBudget = millis;
+        maxWidth = width;
+        if (threads > 1) {
+            pool = new ForkJoinPool(threads);
+            table = new TranspositionTable(PARALLEL_TABLE_BITS);
+        }
+        else {
+            pool = null;
+            table = new TranspositionTable(TABLE_BITS);
+        }
+    }
+
+    public BoardPosition chooseMove(IGameBoard game, char[] seats, int seat) {
+        if (book != null) {
+            BoardPosition move = book.bestMove(game, seats, seat);
+            if (move != null) {
+                return move;
+            }
+        }
+        long deadline = System.nanoTime() + timeBudget * 1000000L;
+        table.newSearch();
+        AlphaBetaSearch root = new AlphaBetaSearch(game, seats, seat, maxWidth, table);
+        int rows = game.getNumRows();
+        int cols = game.getNumColumns();
+
+        if (root.getNumStones() == 0) {
+            return BoardPosition.of(rows / 2, cols / 2);
+        }
+
+        int[] rootMoves = root.rootMoves();
+        int best = rootMoves[0];
+        int empty = rows * cols - root.getNumStones();
+
+        for (int depth = 1; depth <= empty; depth++) {
+            //the first iteration always finishes so there is a move to play
+            long limit = depth == 1 ? Long.MAX_VALUE : deadline;
+            int[] result;
+            if (pool == null) {
+                result = searchRoot(root, rootMoves, depth, limit);
+            }
+            else {
+                result = searchRootParallel(root, rootMoves, depth, limit);
+            }
+            if (result == null) {
+                break;
+            }
+            best = result[0];
+
+            //search the best move first next time around
+            int at = 0;
+            while (rootMoves[at] != best) {
+                at++;
+            }
+            System.arraycopy(rootMoves, 0, rootMoves, 1, at);
+            rootMoves[0] = best;
+
+            if (Math.abs(result[1]) >= AlphaBetaSearch.WIN_SCORE - rows * cols) {
+                break;
+            }
+        }
+        return BoardPosition.of(best / cols, best % cols);
+    }
+
+    /**
+     * This function searches every root move to a depth on the calling thread
+     *
+     * @param   root      the search of the position being played
+     * @param   rootMoves the moves of the seat that is moving, best first
+     * @param   depth     the number of plies to search
+     * @param   limit     the deadline, as a System.nanoTime() value
+     * @return  the best move followed by its score, or null if the deadline passed
+     *
+     * @pre     rootMoves.length > 0 AND depth > 0
+     *
+     * @post    [root's board is unchanged]
+     */
+    private int[] searchRoot(AlphaBetaSearch root, int[] rootMoves, int depth, long limit) {
+        root.setDeadline(limit);
+        int alpha = -AlphaBetaSearch.INFINITY;
+        int best = rootMoves[0];
+
+        for (int move : rootMoves) {
+            int score = root.searchMove(move, depth, alpha);
+            if (root.isTimeUp()) {
+                return null;
+            }
+            if (score > alpha) {
+                alpha = score;
+                best = move;
+            }
+        }
+        return new int[] {best, alpha};
+    }
+
+    /**
+     * This function searches every root move to a depth, splitting the moves after the first across pool
+     *
+     * @param   root      the search of the position being played
+     * @param   rootMoves the moves of the seat that is moving, best first
+     * @param   depth     the number of plies to search
+     * @param   limit     the deadline, as a System.nanoTime() value
+     * @return  the best move followed by its score, or null if the deadline passed
+     *
+     * @pre     rootMoves.length > 0 AND depth > 0 AND pool ≠ null
+     *
+     * @post    [root's board is unchanged]
+     */
+    private int[] searchRootParallel(AlphaBetaSearch root, int[] rootMoves, int depth, long limit) {
+        //the move that was best last time sets the bound the other moves have to beat
+        root.setDeadline(limit);
+        int first = root.searchMove(rootMoves[0], depth, -AlphaBetaSearch.INFINITY);
+        if (root.isTimeUp()) {
+            return null;
+        }
+        AtomicInteger alpha = new AtomicInteger(first);
+
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 1; i < rootMoves.length; i++) {
+            int move = rootMoves[i];
+            tasks.add(() -> {
+                AlphaBetaSearch worker = new AlphaBetaSearch(root);
+                worker.shareAlpha(alpha);
+                int score = worker.searchMove(move, depth, alpha.get());
+                if (worker.isTimeUp()) {
+                    return null;
+                }
+                //every bound the worker searched against is at most the shared score before this update,
+                //so only a score above it is exact, anything else may be a bound on a much worse move
+                int before = alpha.getAndAccumulate(score, Math::max);
+                return score > before ? score : NO_SCORE;
+            });
+        }
+
+        int best = rootMoves[0];
+        int bestScore = first;
+        try {
+            List<Future<Integer>> results = pool.invokeAll(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                Integer score = results.get(i).get();
+                if (score == null) {
+                    return null;
+                }
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = rootMoves[i + 1];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search worker failed", e.getCause());
+        }
+        return new int[] {best, bestScore};
+    }
+}
@@ -0,0 +1,618 @@
+package cpsc2150.extendedTicTacToe.ai;
+
+import cpsc2150.extendedTicTacToe.models.*;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class holds the state of one alpha-beta search for AlphaBetaPlayer
+ * It searches its own copy of the game board with placeMarker and undo, so several searches of the same
+ * position can run on different threads while sharing one transposition table
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant [board, seatAt, stones and threats describe the same markers]
+ *            AND 0 ≤ numStones ≤ rows * cols
+ *            AND 0 ≤ me < players.length
+ */
+final class AlphaBetaSearch {
+    static final int WIN_SCORE = 1000000;
+    static final int INFINITY = Integer.MAX_VALUE;
+
+    private static final int RADIUS = 2;
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+    private static final int MAX_TABLE_DEPTH = 255;
+
+    //hash keys for the seat that is moving and the seat the scores are for
+    private static final int SEAT_KEYS = 64;
+    private static final long[] TURN_KEYS = new long[SEAT_KEYS];
+    private static final long[] ROOT_KEYS = new long[SEAT_KEYS];
+
+    static {
+        SplittableRandom random = new SplittableRandom(2150);
+        for (int s = 0; s < SEAT_KEYS; s++) {
+            TURN_KEYS[s] = random.nextLong();
+            ROOT_KEYS[s] = random.nextLong();
+        }
+    }
+
+    private final int maxWidth;
+    private final TranspositionTable table;
+    private final IGameBoard board;
+    private final char[] players;
+    private final int me;
+    private final int rows;
+    private final int cols;
+    private final int win;
+    private final int[] seatAt;
+    private final int[] stones;
+    private int numStones;
+    private final int[] mark;
+    private int stamp;
+    private int[][] moveLists;
+    private int[][] orderLists;
+    private final ThreatEvaluator threats;
+    private long deadline;
+    private boolean timeUp;
+    private AtomicInteger sharedAlpha;
+
+    /**
+     * Parameterized constructor copies a game into a new search
+     *
+     * @param   game  the board of the game in progress
+     * @param   seats the character of each seat
+     * @param   seat  the seat that is moving
+     * @param   width the number of moves searched at each position below the root
+     * @param   tt    the transposition table to share
+     *
+     * @pre     0 ≤ seat < seats.length AND width > 0
+     *
+     * @post    [board is a copy of game] AND [seatAt and stones describe the markers on board] AND me = seat
+     *          AND deadline = Long.MAX_VALUE AND sharedAlpha = null
+     */
+    AlphaBetaSearch(IGameBoard game, char[] seats, int seat, int width, TranspositionTable tt) {
+        maxWidth = width;
+        table = tt;
+        rows = game.getNumRows();
+        cols = game.getNumColumns();
+        win = game.getNumToWin();
+        players = seats;
+        me = seat;
+        board = new GameBoard(rows, cols, win);
+        seatAt = new int[rows * cols];
+        stones = new int[rows * cols];
+        numStones = 0;
+        mark = new int[rows * cols];
+        stamp = 0;
+        moveLists = new int[0][];
+        orderLists = new int[0][];
+        threats = new ThreatEvaluator(rows, cols, win, seats.length, seat);
+        deadline = Long.MAX_VALUE;
+        timeUp = false;
+        sharedAlpha = null;
+
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                char player = game.whatsAtPos(BoardPosition.of(r, c));
+                seatAt[r * cols + c] = seatOf(player);
+                if (seatAt[r * cols + c] >= 0) {
+                    threats.place(r * cols + c, seatAt[r * cols + c]);
+                }
+                if (player != ' ') {
+                    board.placeMarker(BoardPosition.of(r, c), player);
+                    stones[numStones] = r * cols + c;
+                    numStones++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy constructor creates a search of the same position on its own copy of the board
+     *
+     * @param   other the search to copy
+     *
+     * @pre     [other is not in the middle of a search]
+     *
+     * @post    [self searches the same position as other with the same table and deadline]
+     *          AND sharedAlpha = null AND [changes to self do not change other]
+     */
+    AlphaBetaSearch(AlphaBetaSearch other) {
+        maxWidth = other.maxWidth;
+        table = other.table;
+        rows = other.rows;
+        cols = other.cols;
+        win = other.win;
+        players = other.players;
+        me = other.me;
+        board = other.board.copy();
+        seatAt = other.seatAt.clone();
+        stones = other.stones.clone();
+        numStones = other.numStones;
+        mark = new int[rows * cols];
+        stamp = 0;
+        moveLists = new int[0][];
+        orderLists = new int[0][];
+        threats = new ThreatEvaluator(other.threats);
+        deadline = other.deadline;
+        timeUp = false;
+        sharedAlpha = null;
+    }
+
+    /**
+     * This function sets the time the search has to stop by
+     *
+     * @param   time the deadline, as a System.nanoTime() value
+     *
+     * @pre     NONE
+     *
+     * @post    deadline = time AND timeUp = false
+     */
+    void setDeadline(long time) {
+        deadline = time;
+        timeUp = false;
+    }
+
+    /**
+     * This function shares a lower bound on the root seat's score with other searches of the same position,
+     * so a better root move found by any of them narrows the window of all the others while they run
+     *
+     * @param   bound the best score any search has proven for the root seat, or null to search alone
+     *
+     * @pre     NONE
+     *
+     * @post    sharedAlpha = bound
+     */
+    void shareAlpha(AtomicInteger bound) {
+        sharedAlpha = bound;
+    }
+
+    /**
+     * This function reports if the last search ran out of time, in which case its score is meaningless
+     *
+     * @return  True if the deadline passed during the search
+     *
+     * @pre     NONE
+     *
+     * @post    isTimeUp = timeUp
+     */
+    boolean isTimeUp() {
+        return timeUp;
+    }
+
+    /**
+     * This function returns the number of markers on the board
+     *
+     * @return  the number of markers
+     *
+     * @pre     NONE
+     *
+     * @post    getNumStones = numStones
+     */
+    int getNumStones() {
+        return numStones;
+    }
+
+    /**
+     * This function lists the moves of the root seat, most promising first
+     *
+     * @return  the position indexes of the moves
+     *
+     * @pre     numStones > 0
+     *
+     * @post    [rootMoves are the empty positions near markers, ordered by how promising they look]
+     */
+    int[] rootMoves() {
+        int n = candidates(0, me);
+        return Arrays.copyOf(moveLists[0], n);
+    }
+
+    /**
+     * This function searches one move of the root seat
+     *
+     * @param   move  the position index of the move
+     * @param   depth the number of plies to search, including the move
+     * @param   alpha the score the root seat is already sure of
+     * @return  the score of the move, or at most the bound it was searched against if it is no better than
+     *          that bound, which is alpha or the value of sharedAlpha when the search ends, whichever is larger
+     *
+     * @pre     [move is empty on the board] AND depth > 0
+     *
+     * @post    [the board is unchanged]
+     */
+    int searchMove(int move, int depth, int alpha) {
+        return tryMove(move, me, depth, 0, alpha, INFINITY);
+    }
+
+    /**
+     * This function searches a position with alpha-beta pruning
+     *
+     * @param   depth the number of plies left to search
+     * @param   ply   the number of plies below the root
+     * @param   alpha the score the moving side is already sure of
+     * @param   beta  the score the other side is already sure of
+     * @param   seat  the seat that is moving
+     * @return  the score of the position for the root seat
+     *
+     * @pre     depth ≥ 0 AND alpha < beta
+     *
+     * @post    [board, seatAt and stones are unchanged]
+     */
+    private int search(int depth, int ply, int alpha, int beta, int seat) {
+        if (System.nanoTime() > deadline) {
+            timeUp = true;
+            return 0;
+        }
+        if (depth == 0) {
+            return evaluate();
+        }
+
+        //nothing at or below a root score another search has already proven can change the root move
+        if (sharedAlpha != null) {
+            alpha = Math.max(alpha, sharedAlpha.get());
+            if (alpha >= beta) {
+                return alpha;
+            }
+        }
+
+        //a result from another move order may already settle this position
+        long key = hash(seat);
+        long entry = table.probe(key);
+        int tableMove = TranspositionTable.NO_MOVE;
+        if (entry != 0) {
+            tableMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= Math.min(depth, MAX_TABLE_DEPTH)) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT) {
+                    return score;
+                }
+                else if (bound == TranspositionTable.LOWER) {
+                    alpha = Math.max(alpha, score);
+                }
+                else {
+                    beta = Math.min(beta, score);
+                }
+                if (alpha >= beta) {
+                    return score;
+                }
+            }
+        }
+
+        int n = candidates(ply, seat);
+        bringToFront(moveLists[ply], n, tableMove);
+        n = Math.min(n, maxWidth);
+        boolean maximizing = seat == me;
+        int best = maximizing ? -INFINITY : INFINITY;
+        int bestMove = TranspositionTable.NO_MOVE;
+        int startAlpha = alpha;
+        int startBeta = beta;
+
+        for (int i = 0; i < n; i++) {
+            int move = moveLists[ply][i];
+            int score = tryMove(move, seat, depth, ply, alpha, beta);
+            if (timeUp) {
+                return 0;
+            }
+            if (maximizing ? score > best : score < best) {
+                best = score;
+                bestMove = move;
+            }
+            if (maximizing) {
+                alpha = Math.max(alpha, score);
+            }
+            else {
+                beta = Math.min(beta, score);
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        int bound = TranspositionTable.EXACT;
+        if (best <= startAlpha) {
+            bound = TranspositionTable.UPPER;
+        }
+        else if (best >= startBeta) {
+            bound = TranspositionTable.LOWER;
+        }
+        table.store(key, toTable(best, ply), Math.min(depth, MAX_TABLE_DEPTH), bound, bestMove);
+        return best;
+    }
+
+    /**
+     * This function hashes the search position, including whose turn it is and which seat the scores are for
+     *
+     * @param   seat the seat that is moving
+     * @return  the key of the position in table
+     *
+     * @pre     0 ≤ seat < players.length
+     *
+     * @post    hash = board.getZobristHash() XOR [keys for seat and me]
+     */
+    private long hash(int seat) {
+        return board.getZobristHash() ^ TURN_KEYS[seat % SEAT_KEYS] ^ ROOT_KEYS[me % SEAT_KEYS];
+    }
+
+    /**
+     * This function converts a score to be stored in table, counting wins and losses from the stored position
+     * instead of from the root
+     *
+     * @param   score the score of a position
+     * @param   ply   the number of plies below the root of the position
+     * @return  the score to store
+     *
+     * @pre     NONE
+     *
+     * @post    fromTable(toTable, ply) = score
+     */
+    private int toTable(int score, int ply) {
+        if (score > WIN_SCORE / 2) {
+            return score + ply;
+        }
+        if (score < -WIN_SCORE / 2) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * This function converts a score read from table back to a score counted from the root
+     *
+     * @param   score the score stored in table
+     * @param   ply   the number of plies below the root of the position
+     * @return  the score of the position
+     *
+     * @pre     NONE
+     *
+     * @post    toTable(fromTable, ply) = score
+     */
+    private int fromTable(int score, int ply) {
+        if (score > WIN_SCORE / 2) {
+            return score - ply;
+        }
+        if (score < -WIN_SCORE / 2) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * This function moves a move to the front of a list, keeping the order of the rest
+     *
+     * @param   moves the list of moves
+     * @param   n     the number of moves in the list
+     * @param   move  the move to search first
+     *
+     * @pre     0 ≤ n ≤ moves.length
+     *
+     * @post    (moves[0] = move iff move is in #moves[0...n-1]) AND [moves holds the same moves]
+     */
+    private static void bringToFront(int[] moves, int n, int move) {
+        for (int i = 0; i < n; i++) {
+            if (moves[i] == move) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = move;
+                return;
+            }
+        }
+    }
+
+    /**
+     * This function plays a move, scores the result and takes the move back
+     *
+     * @param   move  the position index of the move
+     * @param   seat  the seat making the move
+     * @param   depth the number of plies left to search, including this move
+     * @param   ply   the number of plies below the root
+     * @param   alpha the score the root seat is already sure of
+     * @param   beta  the score the other seats are already sure of
+     * @return  the score of the move for the root seat
+     *
+     * @pre     seatAt[move] = -1 AND depth > 0
+     *
+     * @post    [board, seatAt and stones are unchanged]
+     */
+    private int tryMove(int move, int seat, int depth, int ply, int alpha, int beta) {
+        BoardPosition pos = BoardPosition.of(move / cols, move % cols);
+        board.placeMarker(pos, players[seat]);
+        seatAt[move] = seat;
+        stones[numStones] = move;
+        numStones++;
+
+        int score;
+        if (board.checkForWinner(pos)) {
+            //sooner wins and later losses score better
+            score = seat == me ? WIN_SCORE - ply : ply - WIN_SCORE;
+        }
+        else if (board.checkForDraw()) {
+            score = 0;
+        }
+        else {
+            threats.place(move, seat);
+            score = search(depth - 1, ply + 1, alpha, beta, (seat + 1) % players.length);
+            threats.remove(move, seat);
+        }
+
+        numStones--;
+        seatAt[move] = -1;
+        board.undo();
+        return score;
+    }
+
+    /**
+     * This function lists the empty positions near markers on the board, most promising first
+     *
+     * @param   ply  the number of plies below the root, choosing the list to fill
+     * @param   seat the seat that is moving
+     * @return  the number of moves written to moveLists[ply]
+     *
+     * @pre     numStones > 0
+     *
+     * @post    [moveLists[ply][0...candidates-1] are the empty positions within RADIUS of a marker,
+     *          sorted by orderScore from high to low] AND [board, seatAt and stones are unchanged]
+     */
+    private int candidates(int ply, int seat) {
+        if (ply >= moveLists.length) {
+            moveLists = Arrays.copyOf(moveLists, ply + 1);
+            orderLists = Arrays.copyOf(orderLists, ply + 1);
+            moveLists[ply] = new int[rows * cols];
+            orderLists[ply] = new int[rows * cols];
+        }
+        int[] moves = moveLists[ply];
+        int[] order = orderLists[ply];
+        stamp++;
+        int n = 0;
+
+        for (int s = 0; s < numStones; s++) {
+            int r0 = stones[s] / cols;
+            int c0 = stones[s] % cols;
+            for (int r = Math.max(0, r0 - RADIUS); r <= Math.min(rows - 1, r0 + RADIUS); r++) {
+                for (int c = Math.max(0, c0 - RADIUS); c <= Math.min(cols - 1, c0 + RADIUS); c++) {
+                    int idx = r * cols + c;
+                    if (seatAt[idx] < 0 && mark[idx] != stamp) {
+                        mark[idx] = stamp;
+                        int score = orderScore(r, c, seat);
+
+                        //insertion sort keeps the list ordered as it grows
+                        int i = n;
+                        while (i > 0 && order[i - 1] < score) {
+                            moves[i] = moves[i - 1];
+                            order[i] = order[i - 1];
+                            i--;
+                        }
+                        moves[i] = idx;
+                        order[i] = score;
+                        n++;
+                    }
+                }
+            }
+        }
+        return n;
+    }
+
+    /**
+     * This function guesses how good an empty position is to play, from the longest line of one seat's
+     * markers it would extend or block and the number of markers next to it
+     *
+     * @param   r    the row of the position
+     * @param   c    the column of the position
+     * @param   seat the seat that is moving
+     * @return  a score that is higher for more promising positions
+     *
+     * @pre     seatAt[r * cols + c] = -1
+     *
+     * @post    [board, seatAt and stones are unchanged]
+     */
+    private int orderScore(int r, int c, int seat) {
+        int neighbors = 0;
+        int threat = 0;
+        for (int[] d : DIRECTIONS) {
+            int before = seatAt(r - d[0], c - d[1]);
+            int after = seatAt(r + d[0], c + d[1]);
+            if (before >= 0) {
+                neighbors++;
+            }
+            if (after >= 0) {
+                neighbors++;
+            }
+            int runBefore = run(r, c, -d[0], -d[1], before);
+            int runAfter = run(r, c, d[0], d[1], after);
+            int line = Math.max(runBefore, runAfter);
+            int owner = runBefore >= runAfter ? before : after;
+            if (before >= 0 && before == after) {
+                line = runBefore + runAfter;
+            }
+
+            //finishing a line of our own beats blocking one of the same length
+            int value = line * line * 16;
+            if (owner == seat) {
+                value += 8;
+            }
+            threat = Math.max(threat, value);
+        }
+        return threat + neighbors;
+    }
+
+    /**
+     * This function counts the markers of a seat in a line leading away from a position
+     *
+     * @param   r    the row of the position
+     * @param   c    the column of the position
+     * @param   dr   the change in row for each step
+     * @param   dc   the change in column for each step
+     * @param   seat the seat whose markers are counted
+     * @return  the number of consecutive markers of seat next to the position in that direction
+     *
+     * @pre     NONE
+     *
+     * @post    [board, seatAt and stones are unchanged]
+     */
+    private int run(int r, int c, int dr, int dc, int seat) {
+        if (seat < 0) {
+            return 0;
+        }
+        int total = 0;
+        r += dr;
+        c += dc;
+        while (seatAt(r, c) == seat) {
+            total++;
+            r += dr;
+            c += dc;
+        }
+        return total;
+    }
+
+    /**
+     * This function scores a position for the root seat from every getNumToWin() long run of positions
+     * that only one seat has markers in
+     *
+     * @return  the sum of the scores of the root seat's runs minus the scores of every other seat's runs
+     *
+     * @pre     NONE
+     *
+     * @post    evaluate = threats.getScore() AND [board, seatAt and stones are unchanged]
+     */
+    private int evaluate() {
+        return threats.getScore();
+    }
+
+    /**
+     * This function returns the seat with a marker at a position, treating positions off the board as empty
+     *
+     * @param   r the row of the position
+     * @param   c the column of the position
+     * @return  the seat with a marker at the position, or -1 if there is none
+     *
+     * @pre     NONE
+     *
+     * @post    [board, seatAt and stones are unchanged]
+     */
+    private int seatAt(int r, int c) {
+        if (r < 0 || r >= rows || c < 0 || c >= cols) {
+            return -1;
+        }
+        return seatAt[r * cols + c];
+    }
+
+    /**
+     * This function finds the seat a player's character belongs to
+     *
+     * @param   player the player's character
+     * @return  the index of player in players, or -1 if player is ' ' or not playing
+     *
+     * @pre     NONE
+     *
+     * @post    (seatOf = s iff players[s] = player) AND (seatOf = -1 iff player is not in players)
+     */
+    private int seatOf(char player) {
+        for (int s = 0; s < players.length; s++) {
+            if (players[s] == player) {
+                return s;
+            }
+        }
+        return -1;
+    }
+}
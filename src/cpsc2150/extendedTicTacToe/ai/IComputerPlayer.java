@@ -0,0 +1,29 @@
+package cpsc2150.extendedTicTacToe.ai;
+
+import cpsc2150.extendedTicTacToe.models.*;
+
+/**
+ * This is the interface for a computer player of the extended tic-tac-toe game
+ * It picks the next move for one seat of a game in progress
+ *
+ * @defines SEATS = the players of the game in the order they take turns
+ *
+ * @constraints 2 ≤ |SEATS| ≤ MAX_PLAYERS
+ */
+public interface IComputerPlayer {
+
+    /**
+     * This function picks the move the player in a seat should make next
+     *
+     * @param   board   the board of the game in progress
+     * @param   players the character of each seat, in the order the seats take turns
+     * @param   seat    the index in players of the seat that is moving
+     * @return  the position the seat should place its marker on
+     *
+     * @pre     0 ≤ seat < players.length AND [the game on board has not ended] AND
+     *          board.getNumMarkers() < board.getNumRows() * board.getNumColumns()
+     *
+     * @post    board.checkSpace(chooseMove) = True AND board = #board
+     */
+    public BoardPosition chooseMove(IGameBoard board, char[] players, int seat);
+}
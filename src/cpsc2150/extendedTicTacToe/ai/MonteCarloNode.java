@@ -0,0 +1,172 @@
+package cpsc2150.extendedTicTacToe.ai;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class is one position in the search tree of MonteCarloPlayer, reached by playing move for mover.
+ * Every search thread walks the same tree, so the counts are atomic and the children are published once
+ * through a volatile field. A thread walking through a node counts a virtual loss on it straight away,
+ * which makes the node look worse to the other threads until the playout result comes back, so they
+ * spread out over the tree instead of all following the same path
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant visits ≥ 0 AND 0 ≤ reward ≤ visits * REWARD_SCALE
+ *            AND [children is null or never changes once set]
+ *
+ * @correspondence self = [the position after mover placed a marker on move, with visits playouts through
+ *                 it earning reward for mover, counting every playout still in progress as a loss]
+ */
+final class MonteCarloNode {
+    /**
+     * The reward of a win. Every number of players up to 10 divides it, so a draw shares it out exactly
+     */
+    static final int REWARD_SCALE = 2520;
+
+    /**
+     * The number of losses a playout in progress counts as
+     */
+    static final int VIRTUAL_LOSS = 3;
+
+    private final int move;
+    private final int mover;
+    private final AtomicInteger visits;
+    private final AtomicLong reward;
+    private volatile MonteCarloNode[] children;
+
+    /**
+     * Parameterized constructor creates a node that has not been visited
+     *
+     * @param   m the row-major index of the move that reaches the node, or -1 for the root
+     * @param   s the seat that made the move
+     *
+     * @pre     s ≥ 0
+     *
+     * @post    move = m AND mover = s AND visits = 0 AND reward = 0 AND children = null
+     */
+    MonteCarloNode(int m, int s) {
+        move = m;
+        mover = s;
+        visits = new AtomicInteger();
+        reward = new AtomicLong();
+        children = null;
+    }
+
+    /**
+     * This function returns the move that reaches the node
+     *
+     * @return  the row-major index of the move
+     *
+     * @pre     NONE
+     *
+     * @post    getMove = move
+     */
+    int getMove() {
+        return move;
+    }
+
+    /**
+     * This function returns the seat that made the move
+     *
+     * @return  the seat
+     *
+     * @pre     NONE
+     *
+     * @post    getMover = mover
+     */
+    int getMover() {
+        return mover;
+    }
+
+    /**
+     * This function returns the number of playouts through the node, including those still in progress
+     *
+     * @return  the number of visits
+     *
+     * @pre     NONE
+     *
+     * @post    getVisits = visits
+     */
+    int getVisits() {
+        return visits.get();
+    }
+
+    /**
+     * This function returns the reward mover has earned from the playouts through the node
+     *
+     * @return  the total reward
+     *
+     * @pre     NONE
+     *
+     * @post    getReward = reward
+     */
+    long getReward() {
+        return reward.get();
+    }
+
+    /**
+     * This function returns the positions one move on from the node
+     *
+     * @return  the children, or null if the node has not been expanded
+     *
+     * @pre     NONE
+     *
+     * @post    getChildren = children
+     */
+    MonteCarloNode[] getChildren() {
+        return children;
+    }
+
+    /**
+     * This function creates the children of the node, unless another thread already has
+     *
+     * @param   moves    the row-major index of every move to create a child for
+     * @param   numMoves the number of moves in moves to use
+     * @param   seat     the seat that makes the moves
+     * @return  the children of the node
+     *
+     * @pre     numMoves > 0
+     *
+     * @post    (#children = null implies children = [a new node for each of the first numMoves moves by seat])
+     *          AND expand = children
+     */
+    MonteCarloNode[] expand(int[] moves, int numMoves, int seat) {
+        synchronized (this) {
+            if (children == null) {
+                MonteCarloNode[] created = new MonteCarloNode[numMoves];
+                for (int i = 0; i < numMoves; i++) {
+                    created[i] = new MonteCarloNode(moves[i], seat);
+                }
+                children = created;
+            }
+        }
+        return children;
+    }
+
+    /**
+     * This function counts a playout that is passing through the node and has not finished
+     *
+     * @pre     NONE
+     *
+     * @post    visits = #visits + VIRTUAL_LOSS
+     */
+    void addVirtualLoss() {
+        visits.addAndGet(VIRTUAL_LOSS);
+    }
+
+    /**
+     * This function replaces the virtual loss of a finished playout with its result
+     *
+     * @param   earned the reward mover earned from the playout
+     *
+     * @pre     0 ≤ earned ≤ REWARD_SCALE AND [addVirtualLoss was called for the playout]
+     *
+     * @post    visits = #visits - VIRTUAL_LOSS + 1 AND reward = #reward + earned
+     */
+    void update(int earned) {
+        reward.addAndGet(earned);
+        visits.addAndGet(1 - VIRTUAL_LOSS);
+    }
+}
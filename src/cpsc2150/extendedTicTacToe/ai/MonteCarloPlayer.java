@@ -0,0 +1,203 @@
+package cpsc2150.extendedTicTacToe.ai;
+
+import cpsc2150.extendedTicTacToe.models.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class is a computer player that picks moves with a Monte Carlo tree search
+ * Every move gets a fixed budget of playouts. Each playout walks a tree of the positions searched so far,
+ * adds to it where the walk leaves it, and finishes the game with random moves; the move played is the one
+ * the most playouts went through. Unlike AlphaBetaPlayer, every seat is scored for itself, so it plays games
+ * of any number of players properly
+ * <p>
+ * With more than one thread, every thread runs playouts on the same tree at once, each on its own copy of
+ * the board, and the budget is shared between them. Virtual losses on the nodes a thread is walking through
+ * keep the others from all piling onto the same path
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant playoutBudget > 0 AND (pool = null iff threads = 1) AND totalPlayouts ≥ 0 AND totalNanos ≥ 0
+ */
+public class MonteCarloPlayer implements IComputerPlayer {
+    /**
+     * The number of playouts a move gets when no budget is given
+     */
+    public static final int DEFAULT_PLAYOUTS = 10000;
+
+    private final int playoutBudget;
+    private final boolean guided;
+    private final int threads;
+    private final ExecutorService pool;
+    private long totalPlayouts;
+    private long totalNanos;
+
+    /**
+     * Default constructor creates a player with the default playout budget
+     *
+     * @pre     NONE
+     *
+     * @post    playoutBudget = DEFAULT_PLAYOUTS AND guided = True AND threads = 1 AND pool = null
+     */
+    public MonteCarloPlayer() {
+        this(DEFAULT_PLAYOUTS);
+    }
+
+    /**
+     * Parameterized constructor creates a player with a playout budget
+     *
+     * @param   playouts the number of playouts each move gets
+     *
+     * @pre     playouts > 0
+     *
+     * @post    playoutBudget = playouts AND guided = True AND threads = 1 AND pool = null
+     */
+    public MonteCarloPlayer(int playouts) {
+        this(playouts, true, 1);
+    }
+
+    /**
+     * Parameterized constructor creates a player that searches on several threads
+     *
+     * @param   playouts the number of playouts each move gets, shared between the threads
+     * @param   guide    True if playouts should favour positions next to markers over purely random ones
+     * @param   count    the number of threads to search with
+     *
+     * @pre     playouts > 0 AND count > 0
+     *
+     * @post    playoutBudget = playouts AND guided = guide AND threads = count
+     *          AND (pool = null iff count = 1) AND [pool has count threads]
+     *          AND totalPlayouts = 0 AND totalNanos = 0
+     */
+    public MonteCarloPlayer(int playouts, boolean guide, int count) {
+        playoutBudget = playouts;
+        guided = guide;
+        threads = count;
+        if (count > 1) {
+            pool = Executors.newFixedThreadPool(count, task -> {
+                Thread thread = new Thread(task, "monte-carlo");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        else {
+            pool = null;
+        }
+        totalPlayouts = 0;
+        totalNanos = 0;
+    }
+
+    public BoardPosition chooseMove(IGameBoard game, char[] seats, int seat) {
+        long start = System.nanoTime();
+        int cols = game.getNumColumns();
+        MonteCarloNode root = new MonteCarloNode(-1, (seat + seats.length - 1) % seats.length);
+        AtomicInteger budget = new AtomicInteger(playoutBudget);
+        int played;
+        if (pool == null) {
+            played = newSearch(game, seats, seat, root).run(budget);
+        }
+        else {
+            played = runParallel(game, seats, seat, root, budget);
+        }
+        totalPlayouts += played;
+        totalNanos += System.nanoTime() - start;
+
+        MonteCarloNode[] children = root.getChildren();
+        if (children == null) {
+            //interrupted before a single playout finished
+            return new RandomPlayer().chooseMove(game, seats, seat);
+        }
+        MonteCarloNode best = null;
+        for (MonteCarloNode child : children) {
+            if (best == null || child.getVisits() > best.getVisits()) {
+                best = child;
+            }
+        }
+        return BoardPosition.of(best.getMove() / cols, best.getMove() % cols);
+    }
+
+    /**
+     * This function returns the number of playouts the player has run over every move it has chosen
+     *
+     * @return  the total number of playouts
+     *
+     * @pre     NONE
+     *
+     * @post    getTotalPlayouts = totalPlayouts
+     */
+    public long getTotalPlayouts() {
+        return totalPlayouts;
+    }
+
+    /**
+     * This function returns how fast the player has run playouts, over all the time it spent choosing moves
+     *
+     * @return  the number of playouts a second, or 0 if it has not chosen a move
+     *
+     * @pre     NONE
+     *
+     * @post    getPlayoutsPerSecond = totalPlayouts / [totalNanos in seconds]
+     */
+    public double getPlayoutsPerSecond() {
+        return totalNanos == 0 ? 0 : totalPlayouts * 1e9 / totalNanos;
+    }
+
+    /**
+     * This function runs the playouts on every thread of pool
+     *
+     * @param   game   the board of the game in progress
+     * @param   seats  the character of each seat
+     * @param   seat   the seat that is moving
+     * @param   root   the root of the tree
+     * @param   budget the number of playouts to share out
+     * @return  the number of playouts run
+     *
+     * @pre     pool ≠ null
+     *
+     * @post    [the tree holds the results of every playout] AND game = #game
+     */
+    private int runParallel(IGameBoard game, char[] seats, int seat, MonteCarloNode root, AtomicInteger budget) {
+        //the copies are made here, since game may change once chooseMove returns but not before
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            MonteCarloSearch search = newSearch(game, seats, seat, root);
+            tasks.add(() -> search.run(budget));
+        }
+        int played = 0;
+        try {
+            for (Future<Integer> result : pool.invokeAll(tasks)) {
+                played += result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Playout worker failed", e.getCause());
+        }
+        return played;
+    }
+
+    /**
+     * This function creates a search of the game on its own copy of the board
+     *
+     * @param   game  the board of the game in progress
+     * @param   seats the character of each seat
+     * @param   seat  the seat that is moving
+     * @param   root  the root of the tree
+     * @return  the new search
+     *
+     * @pre     NONE
+     *
+     * @post    [newSearch searches root from a copy of game with its own random seed] AND game = #game
+     */
+    private MonteCarloSearch newSearch(IGameBoard game, char[] seats, int seat, MonteCarloNode root) {
+        return new MonteCarloSearch(game, seats, seat, root, guided, ThreadLocalRandom.current().nextLong());
+    }
+}
@@ -0,0 +1,296 @@
+package cpsc2150.extendedTicTacToe.ai;
+
+import cpsc2150.extendedTicTacToe.models.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class runs the playouts of MonteCarloPlayer on one thread. It walks the shared tree from the root on
+ * its own PlayoutBoard copy of the game, picking the child with the best upper confidence bound at each node, grows
+ * the tree by one level where the walk leaves it, plays the rest of the game out with random moves and then
+ * hands the result back up the path it took. The board is marked at the root, so every playout starts with
+ * a reset instead of a new board. With more than two players every node is scored for the seat that moved
+ * into it, so each seat plays for itself
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant [stones lists the numStones positions of the markers on board] AND [board is marked at root]
+ *            AND 0 ≤ numStones ≤ rows * cols AND 0 ≤ depth ≤ path.length
+ */
+final class MonteCarloSearch {
+    //how strongly unvisited moves are favoured over ones that have paid off, sqrt(2) in theory
+    private static final double EXPLORATION = 1.0;
+
+    //a node is expanded once this many playouts have been through it
+    private static final int EXPAND_VISITS = 1;
+
+    //only empty positions this close to a marker become children
+    private static final int RADIUS = 1;
+
+    //random picks a guided playout makes looking for a position next to a marker
+    private static final int GUIDED_TRIES = 3;
+
+    private static final int DRAW = -1;
+
+    private final MonteCarloNode root;
+    private final char[] players;
+    private final int firstSeat;
+    private final boolean guided;
+    private final SplittableRandom random;
+    private final PlayoutBoard board;
+    private final int rows;
+    private final int cols;
+    private final int[] stones;
+    private final int rootStones;
+    private int numStones;
+    private final int[] mark;
+    private int stamp;
+    private final int[] moves;
+    private MonteCarloNode[] path;
+    private int depth;
+
+    /**
+     * Parameterized constructor copies a game into a new search of a shared tree
+     *
+     * @param   game  the board of the game in progress
+     * @param   seats the character of each seat
+     * @param   seat  the seat that is moving
+     * @param   tree  the root of the shared tree
+     * @param   guide True if playouts should favour positions next to markers
+     * @param   seed  the seed of the random moves
+     *
+     * @pre     0 ≤ seat < seats.length AND tree.getMover() = [the seat before seat]
+     *
+     * @post    [board is a copy of game, marked] AND root = tree AND players = seats AND firstSeat = seat
+     *          AND guided = guide
+     */
+    MonteCarloSearch(IGameBoard game, char[] seats, int seat, MonteCarloNode tree, boolean guide, long seed) {
+        root = tree;
+        players = seats;
+        firstSeat = seat;
+        guided = guide;
+        random = new SplittableRandom(seed);
+        rows = game.getNumRows();
+        cols = game.getNumColumns();
+        board = new PlayoutBoard(game);
+        stones = new int[rows * cols];
+        numStones = 0;
+        mark = new int[rows * cols];
+        stamp = 0;
+        moves = new int[rows * cols];
+        path = new MonteCarloNode[16];
+        depth = 0;
+
+        for (int index = 0; index < rows * cols; index++) {
+            if (board.getMarker(index) != ' ') {
+                stones[numStones] = index;
+                numStones++;
+            }
+        }
+        rootStones = numStones;
+    }
+
+    /**
+     * This function runs playouts until the shared budget is used up
+     *
+     * @param   budget the number of playouts left for every thread to share
+     * @return  the number of playouts this search ran
+     *
+     * @pre     NONE
+     *
+     * @post    budget ≤ 0 AND [the tree holds the results of every playout] AND [board is unchanged]
+     */
+    int run(AtomicInteger budget) {
+        int count = 0;
+        while (budget.getAndDecrement() > 0) {
+            playout();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * This function walks the tree, plays one game out from where the walk leaves it and scores the path
+     *
+     * @pre     [board holds the position of root]
+     *
+     * @post    [every node on the path has one more visit and its reward for the result] AND [board is reset]
+     */
+    private void playout() {
+        MonteCarloNode node = root;
+        node.addVirtualLoss();
+        depth = 0;
+        push(node);
+
+        int seat = firstSeat;
+        int result = Integer.MIN_VALUE;
+        while (result == Integer.MIN_VALUE) {
+            MonteCarloNode[] children = node.getChildren();
+            if (children == null) {
+                if (node != root && node.getVisits() - MonteCarloNode.VIRTUAL_LOSS < EXPAND_VISITS) {
+                    break;
+                }
+                children = node.expand(moves, listMoves(), seat);
+            }
+            node = select(node, children);
+            node.addVirtualLoss();
+            push(node);
+            result = play(node.getMove(), seat);
+            seat = (seat + 1) % players.length;
+        }
+        if (result == Integer.MIN_VALUE) {
+            result = rollout(seat);
+        }
+
+        int drawReward = MonteCarloNode.REWARD_SCALE / players.length;
+        for (int i = 0; i < depth; i++) {
+            int mover = path[i].getMover();
+            path[i].update(result == DRAW ? drawReward : mover == result ? MonteCarloNode.REWARD_SCALE : 0);
+        }
+
+        board.reset();
+        numStones = rootStones;
+    }
+
+    /**
+     * This function picks the child with the best upper confidence bound for its mover
+     *
+     * @param   parent   the node being walked through
+     * @param   children the children of parent
+     * @return  the first child no playout has reached yet, or the child with the best bound
+     *
+     * @pre     children.length > 0
+     *
+     * @post    [select is in children]
+     */
+    private MonteCarloNode select(MonteCarloNode parent, MonteCarloNode[] children) {
+        double logVisits = Math.log(Math.max(1, parent.getVisits()));
+        MonteCarloNode best = children[0];
+        double bestBound = Double.NEGATIVE_INFINITY;
+        for (MonteCarloNode child : children) {
+            int visits = child.getVisits();
+            if (visits == 0) {
+                return child;
+            }
+            double bound = (double) child.getReward() / ((double) visits * MonteCarloNode.REWARD_SCALE)
+                    + EXPLORATION * Math.sqrt(logVisits / visits);
+            if (bound > bestBound) {
+                bestBound = bound;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * This function places a marker for a seat and reports if it ended the game
+     *
+     * @param   index the row-major index of the position
+     * @param   seat  the seat moving
+     * @return  seat if the move won, DRAW if it filled the board and Integer.MIN_VALUE otherwise
+     *
+     * @pre     [the position of index on board is empty]
+     *
+     * @post    [the marker of seat is on index in board and stones]
+     */
+    private int play(int index, int seat) {
+        stones[numStones] = index;
+        numStones++;
+        if (board.place(index, players[seat])) {
+            return seat;
+        }
+        else if (board.getNumEmpty() == 0) {
+            return DRAW;
+        }
+        return Integer.MIN_VALUE;
+    }
+
+    /**
+     * This function plays the game out with random moves
+     *
+     * @param   seat the seat to move first
+     * @return  the seat that won, or DRAW
+     *
+     * @pre     [the game on board has not ended]
+     *
+     * @post    [board holds the finished game]
+     */
+    private int rollout(int seat) {
+        while (board.getNumEmpty() > 0) {
+            int index = board.getEmpty(random.nextInt(board.getNumEmpty()));
+            for (int tries = 1; guided && tries < GUIDED_TRIES && !board.hasNeighbor(index); tries++) {
+                index = board.getEmpty(random.nextInt(board.getNumEmpty()));
+            }
+            if (board.place(index, players[seat])) {
+                return seat;
+            }
+            seat = (seat + 1) % players.length;
+        }
+        return DRAW;
+    }
+
+    /**
+     * This function lists the moves of the current position into moves, in a random order
+     *
+     * @return  the number of moves listed
+     *
+     * @pre     numStones < rows * cols
+     *
+     * @post    [moves starts with every empty position within RADIUS of a marker, or the middle of the board
+     *          if there are no markers, or every empty position if none is near a marker] AND listMoves > 0
+     */
+    private int listMoves() {
+        if (numStones == 0) {
+            moves[0] = rows / 2 * cols + cols / 2;
+            return 1;
+        }
+        stamp++;
+        int count = 0;
+        for (int i = 0; i < numStones; i++) {
+            int r = stones[i] / cols;
+            int c = stones[i] % cols;
+            for (int nr = Math.max(0, r - RADIUS); nr <= Math.min(rows - 1, r + RADIUS); nr++) {
+                for (int nc = Math.max(0, c - RADIUS); nc <= Math.min(cols - 1, c + RADIUS); nc++) {
+                    int index = nr * cols + nc;
+                    if (board.getMarker(index) == ' ' && mark[index] != stamp) {
+                        mark[index] = stamp;
+                        //shuffle as we go, so ties between unvisited children are broken at random
+                        int swap = random.nextInt(count + 1);
+                        moves[count] = moves[swap];
+                        moves[swap] = index;
+                        count++;
+                    }
+                }
+            }
+        }
+        int numNear = count;
+        //every position near the markers is taken, so fall back to the rest of the board
+        for (int index = 0; index < rows * cols && numNear == 0; index++) {
+            if (board.getMarker(index) == ' ') {
+                moves[count] = index;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * This function adds a node to the end of the path
+     *
+     * @param   node the node walked into
+     *
+     * @pre     NONE
+     *
+     * @post    path[#depth] = node AND depth = #depth + 1
+     */
+    private void push(MonteCarloNode node) {
+        if (depth == path.length) {
+            MonteCarloNode[] longer = new MonteCarloNode[path.length * 2];
+            System.arraycopy(path, 0, longer, 0, depth);
+            path = longer;
+        }
+        path[depth] = node;
+        depth++;
+    }
+}
@@ -0,0 +1,377 @@
+package cpsc2150.extendedTicTacToe.ai;
+
+import cpsc2150.extendedTicTacToe.models.*;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class holds the best moves of two player games on small boards, solved ahead of time by
+ * SmallBoardSolver, so a computer player can look them up instead of searching. There is a table for every
+ * board of up to SmallBoardSolver.MAX_ROWS rows and SmallBoardSolver.MAX_COLUMNS columns with at least as
+ * many columns as rows, and boards the other way around are looked up turned on their side. Each table is
+ * a sorted array of longs, one per position, holding the position's canonical key, its best move and its
+ * value, so a lookup is one binary search. A book is saved to and loaded from a file laid out as
+ * <pre>
+ *   MAGIC "TTTB"  4 bytes
+ *   VERSION       1 byte
+ *   numTables     1 byte
+ *   per table     rows, columns, numToWin and plies as 1 byte each, the number of entries as 4 bytes
+ *                 and then every entry as 8 bytes
+ * </pre>
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant [every table holds the entries SmallBoardSolver.buildBook made for its board, in increasing order]
+ *
+ * @correspondence self = [the tables, one for each size of board and number to win]
+ */
+public final class OpeningBook {
+    /**
+     * The file a book is saved to when no other is given
+     */
+    public static final String DEFAULT_FILE = "opening.book";
+
+    /**
+     * The number of markers on the deepest positions of a book when no other is given
+     */
+    public static final int DEFAULT_PLIES = 8;
+
+    /**
+     * The value lookup returns for a position that is not in the book
+     */
+    public static final int UNKNOWN = -1;
+
+    private static final int MAGIC = 0x54545442;
+    private static final byte VERSION = 1;
+    private static final int ENTRY_SHIFT = SmallBoardSolver.MOVE_BITS + SmallBoardSolver.VALUE_BITS;
+
+    private final List<Table> tables;
+
+    /**
+     * This class is the book of one size of board and number to win
+     */
+    private static final class Table {
+        private final int rows;
+        private final int cols;
+        private final int numToWin;
+        private final int plies;
+        private final long[] entries;
+        private final SmallBoardSolver solver;
+
+        private Table(int r, int c, int k, int p, long[] e) {
+            rows = r;
+            cols = c;
+            numToWin = k;
+            plies = p;
+            entries = e;
+            solver = new SmallBoardSolver(r, c, k);
+        }
+    }
+
+    /**
+     * Parameterized constructor creates a book from its tables
+     *
+     * @param   t the tables
+     *
+     * @pre     NONE
+     *
+     * @post    tables = t
+     */
+    private OpeningBook(List<Table> t) {
+        tables = t;
+    }
+
+    /**
+     * This function solves every board the book covers
+     *
+     * @param   plies the number of markers on the deepest positions to put in the book
+     * @return  the new book
+     *
+     * @pre     plies ≥ 0
+     *
+     * @post    [build has a table for every rows x cols board with MIN_SIZE ≤ rows ≤ cols, rows ≤ MAX_ROWS,
+     *          cols ≤ MAX_COLUMNS and every number to win from MIN_SIZE to rows]
+     */
+    public static OpeningBook build(int plies) {
+        List<Table> tables = new ArrayList<>();
+        for (int r = SmallBoardSolver.MIN_SIZE; r <= SmallBoardSolver.MAX_ROWS; r++) {
+            for (int c = r; c <= SmallBoardSolver.MAX_COLUMNS; c++) {
+                for (int k = SmallBoardSolver.MIN_SIZE; k <= r; k++) {
+                    tables.add(new Table(r, c, k, plies, new SmallBoardSolver(r, c, k).buildBook(plies)));
+                }
+            }
+        }
+        return new OpeningBook(tables);
+    }
+
+    /**
+     * This function reads a book from a file
+     *
+     * @param   file the file to read
+     * @return  the book in file
+     *
+     * @pre     file ≠ null
+     *
+     * @post    load = [the book saved to file]
+     *
+     * @throws  IOException if file can not be read or is not a book
+     */
+    public static OpeningBook load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not an opening book: " + file);
+            }
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported opening book version " + version);
+            }
+            int numTables = in.readUnsignedByte();
+            List<Table> tables = new ArrayList<>();
+            for (int t = 0; t < numTables; t++) {
+                int r = in.readUnsignedByte();
+                int c = in.readUnsignedByte();
+                int k = in.readUnsignedByte();
+                int plies = in.readUnsignedByte();
+                if (r < SmallBoardSolver.MIN_SIZE || r > c || r > SmallBoardSolver.MAX_ROWS
+                        || c > SmallBoardSolver.MAX_COLUMNS || k < SmallBoardSolver.MIN_SIZE || k > r) {
+                    throw new IOException("Corrupt opening book: table for " + r + "x" + c + " with " + k + " to win");
+                }
+                long[] entries = new long[in.readInt()];
+                for (int i = 0; i < entries.length; i++) {
+                    entries[i] = in.readLong();
+                }
+                tables.add(new Table(r, c, k, plies, entries));
+            }
+            return new OpeningBook(tables);
+        }
+    }
+
+    /**
+     * This function writes the book to a file
+     *
+     * @param   file the file to write
+     *
+     * @pre     file ≠ null
+     *
+     * @post    [file holds the book, replacing anything it held]
+     *
+     * @throws  IOException if file can not be written
+     */
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(tables.size());
+            for (Table table : tables) {
+                out.writeByte(table.rows);
+                out.writeByte(table.cols);
+                out.writeByte(table.numToWin);
+                out.writeByte(table.plies);
+                out.writeInt(table.entries.length);
+                for (long entry : table.entries) {
+                    out.writeLong(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * This function returns the number of positions in the book
+     *
+     * @return  the number of entries over every table
+     *
+     * @pre     NONE
+     *
+     * @post    getNumEntries = [sum of |entries| over tables]
+     */
+    public int getNumEntries() {
+        int count = 0;
+        for (Table table : tables) {
+            count += table.entries.length;
+        }
+        return count;
+    }
+
+    /**
+     * This function reports if the book has a table for a game
+     *
+     * @param   rows     the number of rows
+     * @param   cols     the number of columns
+     * @param   numToWin the number of markers in a row needed to win
+     * @return  True if the book covers the board, either way up
+     *
+     * @pre     NONE
+     *
+     * @post    covers = [there is a table for rows x cols or cols x rows with numToWin to win]
+     */
+    public boolean covers(int rows, int cols, int numToWin) {
+        return find(rows, cols, numToWin) != null || find(cols, rows, numToWin) != null;
+    }
+
+    /**
+     * This function looks up the value of a position
+     *
+     * @param   board   the board of the game in progress
+     * @param   players the character of each seat, in the order the seats take turns
+     * @return  SmallBoardSolver.WIN, DRAW or LOSS for the seat to move, or UNKNOWN if the position is not in the book
+     *
+     * @pre     [no one has won the game on board]
+     *
+     * @post    lookup = [the value of the position with best play, or UNKNOWN] AND board = #board
+     */
+    public int lookup(IGameBoard board, char[] players) {
+        Table table = tableFor(board, players);
+        long position = table == null ? -1 : readPosition(table, board, players);
+        long entry = position < 0 ? -1 : findEntry(table, (int) (position >>> Integer.SIZE), (int) position);
+        return entry < 0 ? UNKNOWN : (int) (entry & ((1 << SmallBoardSolver.VALUE_BITS) - 1));
+    }
+
+    /**
+     * This function looks up the best move of a position
+     *
+     * @param   board   the board of the game in progress
+     * @param   players the character of each seat, in the order the seats take turns
+     * @param   seat    the seat that is moving
+     * @return  the best move, or null if the position is not in the book
+     *
+     * @pre     0 ≤ seat < players.length AND [no one has won the game on board]
+     *
+     * @post    (bestMove ≠ null implies [bestMove is empty and the best move for seat]) AND board = #board
+     */
+    public BoardPosition bestMove(IGameBoard board, char[] players, int seat) {
+        Table table = tableFor(board, players);
+        long position = table == null ? -1 : readPosition(table, board, players);
+        if (position < 0) {
+            return null;
+        }
+        int xs = (int) (position >>> Integer.SIZE);
+        int os = (int) position;
+        long entry = findEntry(table, xs, os);
+        if (entry < 0 || seat != Integer.bitCount(xs) - Integer.bitCount(os)) {
+            return null;
+        }
+
+        //the move is stored for the canonical image of the position, so turn it back
+        int move = (int) (entry >>> SmallBoardSolver.VALUE_BITS) & ((1 << SmallBoardSolver.MOVE_BITS) - 1);
+        int index = table.solver.fromCanonical(table.solver.canonicalSymmetry(xs, os), move);
+        int r = index / table.cols;
+        int c = index % table.cols;
+        return board.getNumRows() > board.getNumColumns() ? BoardPosition.of(c, r) : BoardPosition.of(r, c);
+    }
+
+    /**
+     * This function finds the table for a game, which is turned on its side if it has more rows than columns
+     *
+     * @param   board   the board of the game
+     * @param   players the character of each seat
+     * @return  the table, or null if the book does not cover the game
+     *
+     * @pre     NONE
+     *
+     * @post    board = #board
+     */
+    private Table tableFor(IGameBoard board, char[] players) {
+        if (players.length != 2) {
+            return null;
+        }
+        int rows = board.getNumRows();
+        int cols = board.getNumColumns();
+        return rows > cols ? find(cols, rows, board.getNumToWin()) : find(rows, cols, board.getNumToWin());
+    }
+
+    /**
+     * This function reads a board into the orientation of its table
+     *
+     * @param   table   the table of the game
+     * @param   board   the board of the game
+     * @param   players the character of each seat
+     * @return  the mask of the first seat's markers in the high 32 bits and of the second seat's in the low
+     *          32 bits, or -1 if the board holds other markers, has too many or was not reached taking turns
+     *
+     * @pre     table = tableFor(board, players)
+     *
+     * @post    board = #board
+     */
+    private static long readPosition(Table table, IGameBoard board, char[] players) {
+        int rows = board.getNumRows();
+        int cols = board.getNumColumns();
+        boolean turned = rows > cols;
+        int xs = 0;
+        int os = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                char player = board.whatsAtPos(BoardPosition.of(r, c));
+                int bit = 1 << (turned ? c * table.cols + r : r * table.cols + c);
+                if (player == players[0]) {
+                    xs |= bit;
+                }
+                else if (player == players[1]) {
+                    os |= bit;
+                }
+                else if (player != ' ') {
+                    return -1;
+                }
+            }
+        }
+        int numX = Integer.bitCount(xs);
+        int numO = Integer.bitCount(os);
+        if (numX + numO > table.plies || (numX != numO && numX != numO + 1)) {
+            return -1;
+        }
+        return (long) xs << Integer.SIZE | os;
+    }
+
+    /**
+     * This function finds the entry of a position in its table
+     *
+     * @param   table the table of the game
+     * @param   xs    the positions of the first seat's markers
+     * @param   os    the positions of the second seat's markers
+     * @return  the entry, or -1 if the position is not in the table
+     *
+     * @pre     [xs and os are on the board of table]
+     *
+     * @post    self = #self
+     */
+    private static long findEntry(Table table, int xs, int os) {
+        long key = table.solver.canonical(xs, os);
+        int at = Arrays.binarySearch(table.entries, key << ENTRY_SHIFT);
+        if (at < 0) {
+            at = -at - 1;
+        }
+        if (at == table.entries.length || table.entries[at] >>> ENTRY_SHIFT != key) {
+            return -1;
+        }
+        return table.entries[at];
+    }
+
+    /**
+     * This function finds the table of a game
+     *
+     * @param   rows     the number of rows
+     * @param   cols     the number of columns
+     * @param   numToWin the number of markers in a row needed to win
+     * @return  the table, or null if there is none
+     *
+     * @pre     NONE
+     *
+     * @post    find = [the table for rows x cols with numToWin to win, or null]
+     */
+    private Table find(int rows, int cols, int numToWin) {
+        for (Table table : tables) {
+            if (table.rows == rows && table.cols == cols && table.numToWin == numToWin) {
+                return table;
+            }
+        }
+        return null;
+    }
+}
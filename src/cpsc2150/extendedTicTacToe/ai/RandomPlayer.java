@@ -0,0 +1,34 @@
+package cpsc2150.extendedTicTacToe.ai;
+
+import cpsc2150.extendedTicTacToe.models.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class is a computer player that picks uniformly among the empty positions
+ * It is the cheapest opponent there is, which makes it useful for bulk simulations and as a baseline
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ */
+public class RandomPlayer implements IComputerPlayer {
+
+    public BoardPosition chooseMove(IGameBoard board, char[] players, int seat) {
+        int rows = board.getNumRows();
+        int cols = board.getNumColumns();
+        int empty = rows * cols - board.getNumMarkers();
+        int pick = ThreadLocalRandom.current().nextInt(empty);
+
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                BoardPosition pos = BoardPosition.of(r, c);
+                if (board.checkSpace(pos)) {
+                    if (pick == 0) {
+                        return pos;
+                    }
+                    pick--;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,460 @@
+package cpsc2150.extendedTicTacToe.ai;
+
+import cpsc2150.extendedTicTacToe.models.BoardSymmetry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class solves two player games on small boards exactly, by negamax with alpha-beta over every reply.
+ * A position is two bit masks, one for each player's markers, so a whole board is one long and checking for
+ * a win is a few mask tests. Positions are stored under the smallest key of all their symmetric images, so
+ * every rotation or reflection of a position is solved once, and the results go in a table of exact values
+ * and bounds that the search reuses. The first player to move is called X and the second O
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant MIN_SIZE ≤ rows ≤ MAX_ROWS AND MIN_SIZE ≤ cols ≤ MAX_COLUMNS AND MIN_SIZE ≤ numToWin ≤ min(rows, cols)
+ *            AND [symmetryTables maps every marker mask to its image under each symmetry of the board]
+ *            AND [every solved entry in the table is the value, or a bound on the value, of its position]
+ *
+ * @correspondence self = [the game of numToWin in a row on a rows x cols board]
+ */
+public final class SmallBoardSolver {
+    /**
+     * The value of a position the player to move loses with best play
+     */
+    public static final int LOSS = 0;
+
+    /**
+     * The value of a position that is drawn with best play
+     */
+    public static final int DRAW = 1;
+
+    /**
+     * The value of a position the player to move wins with best play
+     */
+    public static final int WIN = 2;
+
+    public static final int MIN_SIZE = 3;
+    public static final int MAX_ROWS = 4;
+    public static final int MAX_COLUMNS = 5;
+
+    //the bits a key gives each player, and the bits of a key and value together in a book entry
+    static final int PLAYER_BITS = 20;
+    static final int VALUE_BITS = 2;
+    static final int MOVE_BITS = 5;
+
+    private static final int TABLE_BITS = 22;
+    private static final int CHUNK_BITS = 8;
+    private static final int EXACT = 0;
+    private static final int LOWER = 1;
+    private static final int UPPER = 2;
+
+    private final int rows;
+    private final int cols;
+    private final int numToWin;
+    private final int full;
+    private final int[][] linesThrough;
+    private final int[] order;
+    private final BoardSymmetry symmetry;
+    private final int[][][] symmetryTables;
+    private long[] tableKeys;
+    private byte[] tableData;
+
+    /**
+     * Parameterized constructor creates a solver for one size of board
+     *
+     * @param   r the number of rows
+     * @param   c the number of columns
+     * @param   k the number of markers in a row needed to win
+     *
+     * @pre     MIN_SIZE ≤ r ≤ MAX_ROWS AND MIN_SIZE ≤ c ≤ MAX_COLUMNS AND MIN_SIZE ≤ k ≤ min(r, c)
+     *
+     * @post    rows = r AND cols = c AND numToWin = k AND [the table is empty]
+     */
+    public SmallBoardSolver(int r, int c, int k) {
+        rows = r;
+        cols = c;
+        numToWin = k;
+        full = (1 << (r * c)) - 1;
+
+        //every line of k positions through each position, as a mask
+        List<List<Integer>> lines = new ArrayList<>();
+        for (int i = 0; i < r * c; i++) {
+            lines.add(new ArrayList<>());
+        }
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        for (int[] d : directions) {
+            for (int sr = 0; sr < r; sr++) {
+                for (int sc = 0; sc < c; sc++) {
+                    int er = sr + (k - 1) * d[0];
+                    int ec = sc + (k - 1) * d[1];
+                    if (er < r && ec >= 0 && ec < c) {
+                        int line = 0;
+                        for (int i = 0; i < k; i++) {
+                            line |= 1 << ((sr + i * d[0]) * c + sc + i * d[1]);
+                        }
+                        for (int i = 0; i < k; i++) {
+                            lines.get((sr + i * d[0]) * c + sc + i * d[1]).add(line);
+                        }
+                    }
+                }
+            }
+        }
+        linesThrough = new int[r * c][];
+        for (int i = 0; i < r * c; i++) {
+            linesThrough[i] = lines.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        //search the middle of the board first, where the most lines cross
+        Integer[] byLines = new Integer[r * c];
+        for (int i = 0; i < byLines.length; i++) {
+            byLines[i] = i;
+        }
+        Arrays.sort(byLines, (a, b) -> linesThrough[b].length - linesThrough[a].length);
+        order = Arrays.stream(byLines).mapToInt(Integer::intValue).toArray();
+
+        symmetry = new BoardSymmetry(r, c);
+        symmetryTables = buildSymmetryTables(symmetry);
+        tableKeys = null;
+        tableData = null;
+    }
+
+    /**
+     * This function returns the value of a position
+     *
+     * @param   xs the positions of X's markers, bit r * cols + c for [r][c]
+     * @param   os the positions of O's markers
+     * @return  WIN, DRAW or LOSS for the player to move
+     *
+     * @pre     [xs and os are a position reachable on the board in which no one has won yet]
+     *
+     * @post    solve = [the value of the position for the player to move with best play by both players]
+     */
+    public int solve(int xs, int os) {
+        allocateTable();
+        boolean xToMove = Integer.bitCount(xs) == Integer.bitCount(os);
+        int score = xToMove ? search(xs, os, true, -1, 1) : search(os, xs, false, -1, 1);
+        return score + 1;
+    }
+
+    /**
+     * This function returns the key a position and all its symmetric images share
+     *
+     * @param   xs the positions of X's markers
+     * @param   os the positions of O's markers
+     * @return  the smallest of xs' << PLAYER_BITS | os' over every symmetric image xs', os' of the position
+     *
+     * @pre     [xs and os are on the board]
+     *
+     * @post    [canonical is the same for every symmetric image of the position]
+     */
+    public long canonical(int xs, int os) {
+        long best = Long.MAX_VALUE;
+        for (int[][] table : symmetryTables) {
+            long key = (long) map(table, xs) << PLAYER_BITS | map(table, os);
+            if (key < best) {
+                best = key;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * This function reports if a player has a line
+     *
+     * @param   marks the positions of the player's markers
+     * @param   last  the position of the player's last marker
+     * @return  True if a line of numToWin through last is all the player's
+     *
+     * @pre     0 ≤ last < rows * cols
+     *
+     * @post    wins = [some line through last is within marks]
+     */
+    public boolean wins(int marks, int last) {
+        for (int line : linesThrough[last]) {
+            if ((marks & line) == line) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This function finds the best move of a position, preferring a win on the spot
+     *
+     * @param   xs the positions of X's markers
+     * @param   os the positions of O's markers
+     * @return  the row-major index of the move shifted up by VALUE_BITS, with the value of the position
+     *          for the player to move in the low bits
+     *
+     * @pre     [xs and os are a position reachable on the board in which no one has won and a position is empty]
+     *
+     * @post    [the move leads to a position worth the returned value to the player that made it]
+     */
+    public int bestMove(int xs, int os) {
+        allocateTable();
+        boolean xToMove = Integer.bitCount(xs) == Integer.bitCount(os);
+        int mine = xToMove ? xs : os;
+        int theirs = xToMove ? os : xs;
+        int taken = xs | os;
+        for (int i : order) {
+            if ((taken & (1 << i)) == 0 && wins(mine | 1 << i, i)) {
+                return i << VALUE_BITS | WIN;
+            }
+        }
+
+        //only a move that beats the best so far needs an exact score, the rest are cut off early
+        int best = -1;
+        int alpha = -1;
+        for (int i : order) {
+            if ((taken & (1 << i)) == 0) {
+                int score = -search(theirs, mine | 1 << i, !xToMove, -1, -alpha);
+                if (best < 0 || score > alpha) {
+                    best = i;
+                    alpha = Math.max(alpha, score);
+                }
+                if (alpha == 1) {
+                    break;
+                }
+            }
+        }
+        return best << VALUE_BITS | (alpha + 1);
+    }
+
+    /**
+     * This function builds an opening book for both players. For each player it follows that player's best
+     * move from every position it reaches and every reply of the other player, so the book covers every game
+     * in which the player keeps to it, however the other player plays
+     *
+     * @param   maxPlies the number of markers on the deepest positions in the book
+     * @return  an entry for every position in the book, with the player to move, holding the position's
+     *          canonical key shifted up by MOVE_BITS + VALUE_BITS, then the best move in the orientation of
+     *          the key, then the value, in increasing order
+     *
+     * @pre     maxPlies ≥ 0
+     *
+     * @post    [buildBook holds each position in the book with at most maxPlies markers exactly once]
+     */
+    public long[] buildBook(int maxPlies) {
+        Set<Long> seen = new HashSet<>();
+        List<Long> entries = new ArrayList<>();
+        for (int first = 0; first < 2; first++) {
+            Set<Long> level = new HashSet<>();
+            if (first == 0) {
+                level.add(0L);
+            }
+            else {
+                for (int i = 0; i < rows * cols; i++) {
+                    level.add(canonical(1 << i, 0));
+                }
+            }
+            for (int ply = first; ply <= maxPlies && !level.isEmpty(); ply += 2) {
+                Set<Long> next = new HashSet<>();
+                for (long key : level) {
+                    int xs = (int) (key >>> PLAYER_BITS);
+                    int os = (int) (key & ((1 << PLAYER_BITS) - 1));
+                    int move = bestMove(xs, os);
+                    if (seen.add(key)) {
+                        entries.add(key << (MOVE_BITS + VALUE_BITS) | move);
+                    }
+                    int index = move >>> VALUE_BITS;
+                    if (first == 0) {
+                        xs |= 1 << index;
+                    }
+                    else {
+                        os |= 1 << index;
+                    }
+                    if (ply + 2 > maxPlies || wins(first == 0 ? xs : os, index)) {
+                        continue;
+                    }
+                    //every reply of the other player that does not end the game
+                    int taken = xs | os;
+                    for (int i = 0; i < rows * cols; i++) {
+                        if ((taken & (1 << i)) != 0 || (taken | 1 << i) == full) {
+                            continue;
+                        }
+                        if (first == 0 && !wins(os | 1 << i, i)) {
+                            next.add(canonical(xs, os | 1 << i));
+                        }
+                        else if (first == 1 && !wins(xs | 1 << i, i)) {
+                            next.add(canonical(xs | 1 << i, os));
+                        }
+                    }
+                }
+                level = next;
+            }
+        }
+        long[] book = entries.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(book);
+        return book;
+    }
+
+    /**
+     * This function returns which symmetry of the board turns a position into its canonical image
+     *
+     * @param   xs the positions of X's markers
+     * @param   os the positions of O's markers
+     * @return  the index s of the symmetry with canonical(xs, os) = [the image of the position under s]
+     *
+     * @pre     [xs and os are on the board]
+     *
+     * @post    0 ≤ canonicalSymmetry < [number of symmetries of the board]
+     */
+    public int canonicalSymmetry(int xs, int os) {
+        long best = Long.MAX_VALUE;
+        int at = 0;
+        for (int sym = 0; sym < symmetryTables.length; sym++) {
+            long key = (long) map(symmetryTables[sym], xs) << PLAYER_BITS | map(symmetryTables[sym], os);
+            if (key < best) {
+                best = key;
+                at = sym;
+            }
+        }
+        return at;
+    }
+
+    /**
+     * This function moves a position back from the canonical image made by a symmetry
+     *
+     * @param   sym   the index of the symmetry
+     * @param   index the row-major index of a position in the canonical image
+     * @return  the row-major index of the position it came from
+     *
+     * @pre     0 ≤ sym < [number of symmetries of the board] AND 0 ≤ index < rows * cols
+     *
+     * @post    [symmetry sym moves fromCanonical to index]
+     */
+    public int fromCanonical(int sym, int index) {
+        return symmetry.unmap(sym, index);
+    }
+
+    /**
+     * This function searches a position with alpha-beta
+     *
+     * @param   me     the markers of the player to move
+     * @param   opp    the markers of the other player
+     * @param   meIsX  True if the player to move is X
+     * @param   alpha  the score the player to move is already sure of
+     * @param   beta   the score the other player is already sure of
+     * @return  the score of the position for the player to move, 1 for a win, 0 for a draw, -1 for a loss,
+     *          exact if it is strictly between alpha and beta and a bound past them otherwise
+     *
+     * @pre     -1 ≤ alpha < beta ≤ 1 AND [no one has won the position]
+     *
+     * @post    [the table holds the result for the position]
+     */
+    private int search(int me, int opp, boolean meIsX, int alpha, int beta) {
+        int taken = me | opp;
+        if (taken == full) {
+            return 0;
+        }
+        //a win on the spot needs no table
+        for (int i = 0; i < linesThrough.length; i++) {
+            if ((taken & (1 << i)) == 0 && wins(me | 1 << i, i)) {
+                return 1;
+            }
+        }
+
+        long key = meIsX ? canonical(me, opp) : canonical(opp, me);
+        int slot = (int) (key ^ key >>> 17) & (tableKeys.length - 1);
+        if (tableKeys[slot] == key) {
+            int flag = tableData[slot] >> 2;
+            int score = (tableData[slot] & 3) - 1;
+            if (flag == EXACT || (flag == LOWER && score >= beta) || (flag == UPPER && score <= alpha)) {
+                return score;
+            }
+        }
+
+        int start = alpha;
+        int best = -1;
+        for (int i : order) {
+            if ((taken & (1 << i)) == 0) {
+                int score = -search(opp, me | 1 << i, !meIsX, -beta, -alpha);
+                if (score > best) {
+                    best = score;
+                }
+                if (best > alpha) {
+                    alpha = best;
+                }
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+
+        int flag = best <= start ? UPPER : best >= beta ? LOWER : EXACT;
+        tableKeys[slot] = key;
+        tableData[slot] = (byte) (flag << 2 | (best + 1));
+        return best;
+    }
+
+    /**
+     * This function creates the table the first time a position is solved
+     *
+     * @pre     NONE
+     *
+     * @post    [tableKeys and tableData hold 2^TABLE_BITS slots, empty if they were just created]
+     */
+    private void allocateTable() {
+        if (tableKeys == null) {
+            tableKeys = new long[1 << TABLE_BITS];
+            tableData = new byte[1 << TABLE_BITS];
+            Arrays.fill(tableKeys, -1);
+        }
+    }
+
+    /**
+     * This function maps a marker mask through one symmetry
+     *
+     * @param   table the symmetry, as the image of every value of each CHUNK_BITS bits of a mask
+     * @param   marks the mask
+     * @return  the mask of the images of the positions in marks
+     *
+     * @pre     table is in symmetryTables
+     *
+     * @post    [map holds bit s(i) for every bit i of marks, where s is the symmetry]
+     */
+    private static int map(int[][] table, int marks) {
+        int image = 0;
+        for (int chunk = 0; chunk < table.length; chunk++) {
+            image |= table[chunk][(marks >>> (chunk * CHUNK_BITS)) & ((1 << CHUNK_BITS) - 1)];
+        }
+        return image;
+    }
+
+    /**
+     * This function turns position maps into tables that map CHUNK_BITS bits of a mask at a time
+     *
+     * @param   symmetries the symmetries of the board
+     * @return  for each symmetry, for each chunk of a mask, the image of every value of the chunk
+     *
+     * @pre     NONE
+     *
+     * @post    [map(buildSymmetryTables[s], marks) is the image of marks under symmetry s]
+     */
+    private static int[][][] buildSymmetryTables(BoardSymmetry symmetries) {
+        int cells = symmetries.getNumRows() * symmetries.getNumColumns();
+        int chunks = (cells + CHUNK_BITS - 1) / CHUNK_BITS;
+        int[][][] tables = new int[symmetries.getNumSymmetries()][chunks][1 << CHUNK_BITS];
+        for (int s = 0; s < tables.length; s++) {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                for (int value = 0; value < 1 << CHUNK_BITS; value++) {
+                    int image = 0;
+                    for (int b = 0; b < CHUNK_BITS; b++) {
+                        int i = chunk * CHUNK_BITS + b;
+                        if ((value & (1 << b)) != 0 && i < cells) {
+                            image |= 1 << symmetries.map(s, i);
+                        }
+                    }
+                    tables[s][chunk][value] = image;
+                }
+            }
+        }
+        return tables;
+    }
+}
@@ -0,0 +1,248 @@
+package cpsc2150.extendedTicTacToe.ai;
+
+/**
+ * This class keeps the threat score of a position up to date for AlphaBetaSearch as markers are placed and
+ * removed, so scoring a leaf costs nothing instead of a walk over every line of the board.
+ * The score is built from windows: every numToWin long run of positions along a row, column, diagonal or
+ * anti-diagonal. A window holding markers of only one seat is a threat that seat can still complete, worth
+ * 8^(markers - 1), capped at 2^MAX_SHIFT. An open run is covered by more such windows than a half-open run
+ * of the same length, and a run with no room left to reach numToWin is in none, so both are scored without
+ * ever looking at the ends of runs. The windows through each position are listed once in a precomputed
+ * table, so placing or removing a marker only rescores the at most 4 * numToWin windows through it.
+ * The total is clamped to MAX_SCORE either way, so no position is ever scored like a forced win or loss
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant [windows[start[i]...start[i+1]-1] are the windows through position index i]
+ *            AND counts[w * numSeats + s] = [number of markers of seat s in window w]
+ *            AND markers[w] = [number of markers in window w] AND owners[w] = [number of seats with markers in w]
+ *            AND values[w] = [the score of window w for seat me] AND score = [sum of values]
+ *
+ * @correspondence self = [the threat score for seat me of the markers placed and not removed]
+ */
+final class ThreatEvaluator {
+    /**
+     * The largest score getScore returns for either side, below the range AlphaBetaSearch keeps for wins
+     */
+    static final int MAX_SCORE = AlphaBetaSearch.WIN_SCORE / 2 - 1;
+
+    private static final int MAX_SHIFT = 20;
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private final int numSeats;
+    private final int me;
+    private final int[] start;
+    private final int[] windows;
+    private final int[] counts;
+    private final int[] markers;
+    private final int[] owners;
+    private final int[] values;
+    private int score;
+
+    /**
+     * Parameterized constructor creates the evaluator of an empty board
+     *
+     * @param   r     the number of rows
+     * @param   c     the number of columns
+     * @param   k     the number of markers in a row needed to win
+     * @param   seats the number of seats
+     * @param   seat  the seat the score is for
+     *
+     * @pre     0 < k ≤ min(r, c) AND 0 ≤ seat < seats
+     *
+     * @post    numSeats = seats AND me = seat AND [windows lists every window of an r x c board] AND score = 0
+     */
+    ThreatEvaluator(int r, int c, int k, int seats, int seat) {
+        numSeats = seats;
+        me = seat;
+
+        //count the windows through each position, then fill them in behind the counts
+        int numWindows = 0;
+        start = new int[r * c + 1];
+        for (int[] d : DIRECTIONS) {
+            for (int sr = 0; sr < r; sr++) {
+                for (int sc = 0; sc < c; sc++) {
+                    if (fits(r, c, k, sr, sc, d)) {
+                        numWindows++;
+                        for (int i = 0; i < k; i++) {
+                            start[(sr + i * d[0]) * c + sc + i * d[1] + 1]++;
+                        }
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < r * c; i++) {
+            start[i + 1] += start[i];
+        }
+        windows = new int[start[r * c]];
+        int[] filled = new int[r * c];
+        int w = 0;
+        for (int[] d : DIRECTIONS) {
+            for (int sr = 0; sr < r; sr++) {
+                for (int sc = 0; sc < c; sc++) {
+                    if (fits(r, c, k, sr, sc, d)) {
+                        for (int i = 0; i < k; i++) {
+                            int index = (sr + i * d[0]) * c + sc + i * d[1];
+                            windows[start[index] + filled[index]] = w;
+                            filled[index]++;
+                        }
+                        w++;
+                    }
+                }
+            }
+        }
+
+        counts = new int[numWindows * seats];
+        markers = new int[numWindows];
+        owners = new int[numWindows];
+        values = new int[numWindows];
+        score = 0;
+    }
+
+    /**
+     * Copy constructor creates an evaluator with the same markers as another
+     *
+     * @param   other the evaluator to copy
+     *
+     * @pre     NONE
+     *
+     * @post    self = other AND [changes to self do not change other]
+     */
+    ThreatEvaluator(ThreatEvaluator other) {
+        numSeats = other.numSeats;
+        me = other.me;
+        start = other.start;
+        windows = other.windows;
+        counts = other.counts.clone();
+        markers = other.markers.clone();
+        owners = other.owners.clone();
+        values = other.values.clone();
+        score = other.score;
+    }
+
+    /**
+     * This function returns the threat score of the position
+     *
+     * @return  the scores of the windows only seat me has markers in minus those of the windows only one
+     *          other seat has markers in, clamped to MAX_SCORE
+     *
+     * @pre     NONE
+     *
+     * @post    getScore = max(-MAX_SCORE, min(MAX_SCORE, score))
+     */
+    int getScore() {
+        return Math.max(-MAX_SCORE, Math.min(MAX_SCORE, score));
+    }
+
+    /**
+     * This function rescores the windows through a marker as it is placed
+     *
+     * @param   index the row-major index of the marker
+     * @param   seat  the seat of the marker
+     *
+     * @pre     [index is on the board and has no marker placed] AND 0 ≤ seat < numSeats
+     *
+     * @post    [self holds #self and the marker of seat at index]
+     */
+    void place(int index, int seat) {
+        for (int i = start[index]; i < start[index + 1]; i++) {
+            int w = windows[i];
+            if (counts[w * numSeats + seat] == 0) {
+                owners[w]++;
+            }
+            counts[w * numSeats + seat]++;
+            markers[w]++;
+            //the seat just placed is the only possible owner
+            rescore(w, seat);
+        }
+    }
+
+    /**
+     * This function rescores the windows through a marker as it is removed
+     *
+     * @param   index the row-major index of the marker
+     * @param   seat  the seat of the marker
+     *
+     * @pre     [seat has a marker placed at index]
+     *
+     * @post    [self holds #self without the marker of seat at index]
+     */
+    void remove(int index, int seat) {
+        for (int i = start[index]; i < start[index + 1]; i++) {
+            int w = windows[i];
+            counts[w * numSeats + seat]--;
+            markers[w]--;
+            int owner = seat;
+            if (counts[w * numSeats + seat] == 0) {
+                owners[w]--;
+                //taking out the last marker of one seat can leave a window to another
+                if (owners[w] == 1) {
+                    owner = findOwner(w);
+                }
+            }
+            rescore(w, owner);
+        }
+    }
+
+    /**
+     * This function updates the score of one window
+     *
+     * @param   w     the window
+     * @param   owner a seat with markers in w if only one seat has markers in it
+     *
+     * @pre     owners[w] = 1 implies counts[w * numSeats + owner] > 0
+     *
+     * @post    values[w] = [the score of w for seat me] AND score = #score - #values[w] + values[w]
+     */
+    private void rescore(int w, int owner) {
+        int value = 0;
+        if (owners[w] == 1) {
+            value = 1 << Math.min(MAX_SHIFT, 3 * (markers[w] - 1));
+            if (owner != me) {
+                value = -value;
+            }
+        }
+        score += value - values[w];
+        values[w] = value;
+    }
+
+    /**
+     * This function finds the only seat with markers in a window
+     *
+     * @param   w the window
+     * @return  the seat with a nonzero count in w
+     *
+     * @pre     owners[w] = 1
+     *
+     * @post    counts[w * numSeats + findOwner] > 0
+     */
+    private int findOwner(int w) {
+        int s = 0;
+        while (counts[w * numSeats + s] == 0) {
+            s++;
+        }
+        return s;
+    }
+
+    /**
+     * This function checks if a window fits on the board
+     *
+     * @param   r  the number of rows
+     * @param   c  the number of columns
+     * @param   k  the length of the window
+     * @param   sr the row the window starts on
+     * @param   sc the column the window starts on
+     * @param   d  the change in row and column for each step along the window
+     * @return  True if all k positions of the window are on the board
+     *
+     * @pre     0 ≤ sr < r AND 0 ≤ sc < c AND d[0] ≥ 0
+     *
+     * @post    fits = [sr + (k - 1) * d[0] < r AND 0 ≤ sc + (k - 1) * d[1] < c]
+     */
+    private static boolean fits(int r, int c, int k, int sr, int sc, int[] d) {
+        int er = sr + (k - 1) * d[0];
+        int ec = sc + (k - 1) * d[1];
+        return er < r && ec >= 0 && ec < c;
+    }
+}
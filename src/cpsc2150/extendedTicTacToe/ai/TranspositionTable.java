@@ -0,0 +1,190 @@
+package cpsc2150.extendedTicTacToe.ai;
+
+/**
+ * This class is a fixed size table of search results keyed by board hash, so a search can reuse the result
+ * of a position it already reached through a different order of moves
+ * Each slot is two longs, the entry and the key XOR the entry. Readers check that the two still agree, so
+ * threads can share a table without locks: a slot torn by two writers is simply treated as empty.
+ * A slot is only overwritten by a search at least as deep, unless its entry is from an older generation
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant keys.length = entries.length AND keys.length is a power of 2
+ *            AND 0 ≤ generation < 64
+ *
+ * @correspondence self = [the entries[i] for each slot i where keys[i] XOR entries[i] is the hash stored in slot i]
+ */
+public class TranspositionTable {
+    /**
+     * The score stored is the exact score of the position
+     */
+    public static final int EXACT = 0;
+
+    /**
+     * The score stored is a lower bound, the search stopped after finding a move at least that good
+     */
+    public static final int LOWER = 1;
+
+    /**
+     * The score stored is an upper bound, no move was found that beat it
+     */
+    public static final int UPPER = 2;
+
+    /**
+     * The move stored when the search had no best move
+     */
+    public static final int NO_MOVE = 0xFFFF;
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int mask;
+    private volatile int generation;
+
+    /**
+     * Parameterized constructor creates an empty table
+     *
+     * @param   bits the table holds 2^bits slots
+     *
+     * @pre     0 < bits ≤ 30
+     *
+     * @post    keys.length = 2^bits AND self = [] AND generation = 0
+     */
+    public TranspositionTable(int bits) {
+        keys = new long[1 << bits];
+        entries = new long[1 << bits];
+        mask = (1 << bits) - 1;
+        generation = 0;
+    }
+
+    /**
+     * This function starts a new search, so entries from earlier searches give way to new ones
+     *
+     * @pre     NONE
+     *
+     * @post    generation = (#generation + 1) mod 64 AND self = #self
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 63;
+    }
+
+    /**
+     * This function looks up the entry stored for a hash
+     *
+     * @param   hash the hash of the position
+     * @return  the packed entry for hash, or 0 if there is none
+     *
+     * @pre     NONE
+     *
+     * @post    (probe = [entry stored for hash] iff hash is in self) AND (probe = 0 iff hash is not in self)
+     *          AND self = #self
+     */
+    public long probe(long hash) {
+        int i = (int) hash & mask;
+        long entry = entries[i];
+        if (entry != 0 && (keys[i] ^ entry) == hash) {
+            return entry;
+        }
+        return 0;
+    }
+
+    /**
+     * This function stores the result of searching a position, unless its slot holds a deeper search
+     * from the current generation
+     *
+     * @param   hash  the hash of the position
+     * @param   score the score found
+     * @param   depth the number of plies searched
+     * @param   bound EXACT, LOWER or UPPER
+     * @param   move  the position index of the best move found, or NO_MOVE
+     *
+     * @pre     0 ≤ depth < 256 AND 0 ≤ move ≤ NO_MOVE
+     *
+     * @post    [the slot of hash holds the new entry, or kept an entry of the current generation searched deeper]
+     */
+    public void store(long hash, int score, int depth, int bound, int move) {
+        int i = (int) hash & mask;
+        long old = entries[i];
+        if (old != 0 && generation(old) == generation && depth(old) > depth) {
+            return;
+        }
+        long entry = ((long) score << 32) | ((long) move << 16) | ((long) depth << 8)
+                | ((long) bound << 6) | generation;
+        //a zero entry marks an empty slot, so keep a real entry from ever packing to zero
+        if (entry == 0) {
+            entry = (long) NO_MOVE << 16;
+        }
+        entries[i] = entry;
+        keys[i] = hash ^ entry;
+    }
+
+    /**
+     * This function unpacks the score of an entry
+     *
+     * @param   entry a nonzero result of probe
+     * @return  the score stored in entry
+     *
+     * @pre     entry ≠ 0
+     *
+     * @post    score = [score given to store]
+     */
+    public static int score(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    /**
+     * This function unpacks the best move of an entry
+     *
+     * @param   entry a nonzero result of probe
+     * @return  the position index stored in entry, or NO_MOVE
+     *
+     * @pre     entry ≠ 0
+     *
+     * @post    move = [move given to store]
+     */
+    public static int move(long entry) {
+        return (int) (entry >>> 16) & 0xFFFF;
+    }
+
+    /**
+     * This function unpacks the search depth of an entry
+     *
+     * @param   entry a nonzero result of probe
+     * @return  the depth stored in entry
+     *
+     * @pre     entry ≠ 0
+     *
+     * @post    depth = [depth given to store]
+     */
+    public static int depth(long entry) {
+        return (int) (entry >>> 8) & 0xFF;
+    }
+
+    /**
+     * This function unpacks the kind of score of an entry
+     *
+     * @param   entry a nonzero result of probe
+     * @return  EXACT, LOWER or UPPER
+     *
+     * @pre     entry ≠ 0
+     *
+     * @post    bound = [bound given to store]
+     */
+    public static int bound(long entry) {
+        return (int) (entry >>> 6) & 3;
+    }
+
+    /**
+     * This function unpacks the generation an entry was stored in
+     *
+     * @param   entry a nonzero result of probe
+     * @return  the generation stored in entry
+     *
+     * @pre     entry ≠ 0
+     *
+     * @post    generation = [generation when entry was stored]
+     */
+    private static int generation(long entry) {
+        return (int) entry & 63;
+    }
+}
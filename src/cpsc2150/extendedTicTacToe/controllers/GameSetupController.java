@@ -1,5 +1,6 @@
 package cpsc2150.extendedTicTacToe.controllers;
 
+import cpsc2150.extendedTicTacToe.ai.*;
 import cpsc2150.extendedTicTacToe.models.*;
 import cpsc2150.extendedTicTacToe.views.*;
 
@@ -26,9 +27,8 @@ public class GameSetupController {
 
     /**
      * <p>
-     * Constants for maximum number of players, minimum size, maximum size, minimum number of
-     * tokens required to win and the board cutoff for automatically
-     * choosing between Gameboard and GameboardMem.
+     * Constants for maximum number of players, minimum size, maximum size and minimum number of
+     * tokens required to win.
      *
      * </p>
      */
@@ -39,9 +39,6 @@ public class GameSetupController {
     private final int MIN_TO_WIN = 3;
     private final int MAX_NUM_PLAYERS = 10;
 
-
-    private final int MEM_CUTOFF = 64;
-
     /**
      * <p>
      * This creates a new game setup controller.
@@ -69,6 +66,26 @@ public class GameSetupController {
      *      Number of tokens in a row required to win
      */
     public void processButtonClick(int rows, int cols, int players, int numWin) {
+        processButtonClick(rows, cols, players, numWin, 0);
+    }
+
+    /**
+     * <p>
+     * This processes the submit button click for a game where the last seats are played by the computer.
+     * </p>
+     *
+     * @param rows
+     *      Number of rows for the board
+     * @param cols
+     *      Number of columns for the board
+     * @param players
+     *      Number of players for this game
+     * @param numWin
+     *      Number of tokens in a row required to win
+     * @param computers
+     *      Number of players for this game that are played by the computer
+     */
+    public void processButtonClick(int rows, int cols, int players, int numWin, int computers) {
         String errorMsg = "";
         if (rows < MIN_SIZE || rows > MAX_SIZE) {
             errorMsg += "Rows must be between " + MIN_SIZE + " and " + MAX_SIZE + " ";
@@ -92,24 +109,27 @@ public class GameSetupController {
         if (players > MAX_NUM_PLAYERS) {
             errorMsg += "Number of players must be less than" + MAX_NUM_PLAYERS;
         }
+        if (computers >= players) {
+            errorMsg += "At least one player can't be a computer ";
+        }
 
         if (!errorMsg.equals("")) {
             view.displayError(errorMsg);
         } else {
             view.closeScreen();
-            IGameBoard model;
 
-            // if the board is too big we'll want the memory efficient version
-            if (rows * cols <= MEM_CUTOFF) {
-                model = new GameBoard(rows, cols, numWin);
-            } else {
-                model = new GameBoardMem(rows, cols, numWin);
-            }
+            //a game can end after a handful of moves or run until the board is full
+            IGameBoard model = BoardFactory.create(rows, cols, numWin, players);
 
             TicTacToeView tview = new TicTacToeView(rows, cols);
             TicTacToeController tcontroller = new TicTacToeController(model, tview, players);
 
             tview.registerObserver(tcontroller);
+
+            //the computers take the last seats so a person always goes first
+            for (int seat = players - computers; seat < players; seat++) {
+                tcontroller.setComputerPlayer(seat, new AlphaBetaPlayer());
+            }
         }
     }
 }
\ No newline at end of file
@@ -1,7 +1,11 @@
 package cpsc2150.extendedTicTacToe.controllers;
 
+import cpsc2150.extendedTicTacToe.ai.*;
 import cpsc2150.extendedTicTacToe.models.*;
 import cpsc2150.extendedTicTacToe.views.*;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import javax.swing.SwingWorker;
 
 /**
  * <p>
@@ -10,6 +14,11 @@ import cpsc2150.extendedTicTacToe.views.*;
  * </p>
  *
  * <p>
+ * The rules of the game are run by a {@link GameEngine}. The controller passes clicks to the engine
+ * and listens to it to update the view.
+ * </p>
+ *
+ * <p>
  * This is where you will write code
  * <p>
  *
@@ -19,14 +28,14 @@ import cpsc2150.extendedTicTacToe.views.*;
  *
  * @version 2.0
  */
-public class TicTacToeController {
+public class TicTacToeController implements IGameListener {
 
     /**
      * <p>
      * The current game that is being played
      * </p>
      */
-    private IGameBoard curGame;
+    private GameEngine curGame;
 
     /**
      * <p>
@@ -37,24 +46,37 @@ public class TicTacToeController {
 
     /**
      * <p>
-     * Constant for the maximum number of players, max size of board, and min size of the board
+     * Constant for the maximum number of players, max size of board, min size of the board, and whether
+     * a game is called a draw as soon as nobody can complete a row instead of when the board is full
      * </p>
      */
     public static final int MAX_PLAYERS = 10;
     private final int MAX_SIZE = 20;
 
     private final int MIN_SIZE = 3;
-    private boolean gameOver;
+    private static final boolean EARLY_DRAW = false;
 
 
     /**
      * <p>
-     * The number of players for this game, and the characters for the game. Note that our player tokens are hard coded.
+     * The characters for the game. Note that our player tokens are hard coded.
      * </p>
      */
-    private int numPlayers;
     private char[] players = {'X','B','C','D','E','F','G','H','I','J'};
-    private int curPlayer;
+
+    /**
+     * <p>
+     * The computer player in each seat, or null for the seats people are playing
+     * </p>
+     */
+    private IComputerPlayer[] computers;
+
+    /**
+     * <p>
+     * Whether a computer player is choosing a move in the background, in which case clicks are ignored
+     * </p>
+     */
+    private boolean thinking;
 
     /**
      * <p>
@@ -68,15 +90,53 @@ public class TicTacToeController {
      * @param np
      *      The number of players for this game.
      *
-     * @post [ the controller will respond to actions on the view using the model. ]
+     * @post [ the controller will respond to actions on the view using the model, and only call a draw
+     * once the board is full ]
      */
     public TicTacToeController(IGameBoard model, TicTacToeView view, int np) {
-        this.curGame = model;
+        this(model, view, np, EARLY_DRAW);
+    }
+
+    /**
+     * <p>
+     * This creates a controller for running the Extended TicTacToe game, choosing when a draw is called
+     * </p>
+     *
+     * @param model
+     *      The board implementation
+     * @param view
+     *      The screen that is shown
+     * @param np
+     *      The number of players for this game.
+     * @param earlyDraw
+     *      True to call a draw as soon as nobody can complete a row, false to wait for a full board
+     *
+     * @post [ the controller will respond to actions on the view using the model. ]
+     */
+    public TicTacToeController(IGameBoard model, TicTacToeView view, int np, boolean earlyDraw) {
         this.screen = view;
-        this.numPlayers = np;
+        this.curGame = new GameEngine(model, Arrays.copyOf(players, np), earlyDraw);
+        this.curGame.addListener(this);
+        this.computers = new IComputerPlayer[MAX_PLAYERS];
+        this.thinking = false;
+    }
 
-        this.gameOver = false;
-        this.curPlayer = 0;
+    /**
+     * <p>
+     * This hands a seat over to a computer player, which moves right away if it is that seat's turn
+     * </p>
+     *
+     * @param seat
+     *      The seat in players the computer plays
+     * @param computer
+     *      The computer player for the seat
+     *
+     * @pre 0 <= seat < curGame.getPlayers().length AND [ called on the Swing event thread ]
+     * @post [ the computer picks the moves of seat from now on ]
+     */
+    public void setComputerPlayer(int seat, IComputerPlayer computer) {
+        computers[seat] = computer;
+        playComputerTurns();
     }
 
     /**
@@ -94,46 +154,126 @@ public class TicTacToeController {
      * game hitting any button ]
      */
     public void processButtonClick(int row, int col) {
-        if (gameOver) {
+        //the board belongs to the computer until it has moved
+        if (thinking) {
+            return;
+        }
+        if (curGame.isGameOver()) {
             newGame();
             return;
         }
         //input validation for the button clicked
-        BoardPosition spot = new BoardPosition(row, col);
-        String msg = "";
-        if (!curGame.checkSpace(spot)) {
-            msg = "That space is unavailable, please pick again";
-            screen.setMessage(msg);
+        if (!curGame.playMove(BoardPosition.of(row, col))) {
+            screen.setMessage("That space is unavailable, please pick again");
         }
         else {
-            //places the marker on the board
-            curGame.placeMarker(spot, players[curPlayer]);
-            screen.setMarker(row, col, players[curPlayer]);
-            if (curPlayer == numPlayers-1) {
-                curPlayer = 0;
-            }
-            else {
-                curPlayer++;
-            }
+            playComputerTurns();
+        }
 
-            //checks for winner or draw and resets the board if so, or prints whose turn it is
-            if (curGame.checkForWinner(spot)){
-                Character winner = players[curPlayer-1];
-                msg = winner + "Wins! Press anywhere to play again";
-                screen.setMessage(msg);
-                gameOver = true;
-            }
-            else if (curGame.checkForDraw()){
-                msg = "Draw! Press anywhere to play again";
-                screen.setMessage(msg);
-                gameOver = true;
-            }
-            else {
-                msg = players[curPlayer] + "\'s turn:";
-                screen.setMessage(msg);
-            }
+    }
+
+    /**
+     * <p>
+     * This shows a marker the engine placed on the board.
+     * </p>
+     *
+     * @param pos
+     *      The position the marker was placed on
+     * @param player
+     *      The player that placed the marker
+     *
+     * @post [ the button at pos shows player ]
+     */
+    @Override
+    public void markerPlaced(BoardPosition pos, char player) {
+        screen.setMarker(pos.getRow(), pos.getColumn(), player);
+    }
+
+    /**
+     * <p>
+     * This shows whose turn it is.
+     * </p>
+     *
+     * @param player
+     *      The player whose turn it is now
+     *
+     * @post [ the message tells player to move ]
+     */
+    @Override
+    public void turnChanged(char player) {
+        screen.setMessage(player + "\'s turn:");
+    }
+
+    /**
+     * <p>
+     * This shows the winner of the game.
+     * </p>
+     *
+     * @param player
+     *      The player that won
+     *
+     * @post [ the message announces the win and how to play again ]
+     */
+    @Override
+    public void gameWon(char player) {
+        screen.setMessage(player + " Wins! Press anywhere to play again");
+    }
+
+    /**
+     * <p>
+     * This shows that the game is a draw.
+     * </p>
+     *
+     * @post [ the message announces the draw and how to play again ]
+     */
+    @Override
+    public void gameDrawn() {
+        screen.setMessage("Draw! Press anywhere to play again");
+    }
+
+    /**
+     * <p>
+     * This lets computer players move until it is a person's turn or the game is over. Each move is chosen
+     * on a background thread from a copy of the board, then played back on the Swing event thread, so the
+     * window keeps repainting while the computers think
+     * </p>
+     *
+     * @pre [ called on the Swing event thread ]
+     * @post [ if the current seat is a computer, thinking = true and its move will be played once it is chosen,
+     * followed by the moves of any computers after it ]
+     */
+    private void playComputerTurns() {
+        if (thinking || curGame.isGameOver() || computers[curGame.getCurrentSeat()] == null) {
+            return;
         }
+        IComputerPlayer computer = computers[curGame.getCurrentSeat()];
+        IGameBoard board = curGame.getBoard().copy();
+        char[] seats = curGame.getPlayers();
+        int seat = curGame.getCurrentSeat();
+        thinking = true;
 
+        new SwingWorker<BoardPosition, Void>() {
+            @Override
+            protected BoardPosition doInBackground() {
+                return computer.chooseMove(board, seats, seat);
+            }
+
+            @Override
+            protected void done() {
+                thinking = false;
+                try {
+                    curGame.playMove(get());
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                catch (ExecutionException e) {
+                    throw new IllegalStateException("Computer player failed", e.getCause());
+                }
+                playComputerTurns();
+            }
+        }.execute();
     }
 
     /**
@@ -1,8 +1,13 @@
 package cpsc2150.extendedTicTacToe.models;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
 /**
  * An abstract class that contains an overridden
- * implementation of {@code toString()}.
+ * implementation of {@code toString()}, along with ways to write the same text
+ * straight to a stream or buffer and a compact one line encoding of the board.
  *
  * @invariant board remains the same
  *
@@ -34,35 +39,149 @@ abstract public class AbsGameBoard implements IGameBoard{
      */
     @Override
     public String toString() {
-        Integer maxRow = getNumRows();
-        Integer maxColumn = getNumColumns();
-        String str = "   ";
-        for (Integer num = 0; num < maxColumn; num++) {
-            if (num < 10) {
-                str += ' ' + num.toString() + '|';
-            }
-            else {
-                str += num.toString() + '|';
-            }
+        StringBuilder str = new StringBuilder(getTextLength());
+        try {
+            appendTo(str);
+        }
+        catch (IOException e) {
+            //a StringBuilder never throws
+            throw new UncheckedIOException(e);
         }
-        str += '\n';
+        return str.toString();
+    }
+
+    /**
+     * This method writes the same text as {@code toString()} to any character sink, one row at a time,
+     * without building the whole string first
+     *
+     * @param out the sink to write the board to
+     *
+     * @throws IOException if out throws one
+     *
+     * @pre out ≠ null AND getNumRows() ≤ 100 AND getNumColumns() ≤ 100
+     * @post [out has toString() appended to it] AND board = #board
+     */
+    public void appendTo(Appendable out) throws IOException {
+        int maxRow = getNumRows();
+        int maxColumn = getNumColumns();
+        out.append("   ");
+        for (int num = 0; num < maxColumn; num++) {
+            appendNumber(out, num);
+        }
+        out.append('\n');
 
         for (int row = 0; row < maxRow; row++) {
-            Integer r = row;
-            if (r < 10) {
-                str += ' ' + r.toString()  + '|';
-            }
-            else {
-                str += r.toString() + '|';
+            appendNumber(out, row);
+            for (int column = 0; column < maxColumn; column++) {
+                out.append(whatsAtPos(BoardPosition.of(row, column))).append(' ').append('|');
             }
+            out.append('\n');
+        }
+    }
+
+    /**
+     * This method writes the same text as {@code toString()} into a buffer, as UTF-8
+     *
+     * @param out the buffer to write the board to
+     *
+     * @throws java.nio.BufferOverflowException if out runs out of room
+     *
+     * @pre getNumRows() ≤ 100 AND getNumColumns() ≤ 100
+     *      AND out.remaining() ≥ getTextLength() + [2 more bytes for every marker that is not ASCII]
+     * @post [out holds the UTF-8 bytes of toString() at its old position] AND board = #board
+     */
+    public void writeTo(ByteBuffer out) {
+        int maxRow = getNumRows();
+        int maxColumn = getNumColumns();
+        out.put((byte) ' ').put((byte) ' ').put((byte) ' ');
+        for (int num = 0; num < maxColumn; num++) {
+            putNumber(out, num);
+        }
+        out.put((byte) '\n');
+
+        for (int row = 0; row < maxRow; row++) {
+            putNumber(out, row);
             for (int column = 0; column < maxColumn; column++) {
-                BoardPosition check = new BoardPosition(row, column);
-                Character c = whatsAtPos(check);
-                str += c.toString() + ' ' + '|';
+                putChar(out, whatsAtPos(BoardPosition.of(row, column)));
+                out.put((byte) ' ').put((byte) '|');
             }
-            str += '\n';
+            out.put((byte) '\n');
         }
+    }
+
+    /**
+     * This method returns the number of characters in {@code toString()}
+     *
+     * @return the length of the text of the board
+     *
+     * @pre getNumRows() ≤ 100 AND getNumColumns() ≤ 100
+     * @post getTextLength = (getNumRows() + 1) * (3 * getNumColumns() + 4) AND board = #board
+     */
+    public int getTextLength() {
+        //every line is a 3 character label, 3 characters a column and a newline
+        return (getNumRows() + 1) * (3 * getNumColumns() + 4);
+    }
 
-        return str;
+    /**
+     * This method encodes the board as a single line, in the style of chess FEN: the size and number to win,
+     * then every row from the top separated by '/', with each marker as its character and each stretch of
+     * empty positions as its length, like {@code 3x3:3 X2/1O1/3}. The move order is not kept
+     *
+     * @return the FEN of the board
+     *
+     * @pre [no marker on the board is a digit, '/' or ' ']
+     * @post toFen = [the encoding of board, which fromFen of GameBoard or GameBoardMem reads back] AND board = #board
+     */
+    public String toFen() {
+        return BoardFen.encode(this);
+    }
+
+    /**
+     * This method writes a row or column label, right aligned to 2 characters and followed by '|'
+     *
+     * @param out the sink to write to
+     * @param num the label
+     *
+     * @throws IOException if out throws one
+     *
+     * @pre 0 ≤ num < 100
+     * @post [out has the label appended to it]
+     */
+    private static void appendNumber(Appendable out, int num) throws IOException {
+        out.append(num < 10 ? ' ' : (char) ('0' + num / 10)).append((char) ('0' + num % 10)).append('|');
+    }
+
+    /**
+     * This method writes a row or column label into a buffer, right aligned to 2 characters and followed by '|'
+     *
+     * @param out the buffer to write to
+     * @param num the label
+     *
+     * @pre 0 ≤ num < 100 AND out.remaining() ≥ 3
+     * @post [out holds the label at its old position]
+     */
+    private static void putNumber(ByteBuffer out, int num) {
+        out.put((byte) (num < 10 ? ' ' : '0' + num / 10)).put((byte) ('0' + num % 10)).put((byte) '|');
+    }
+
+    /**
+     * This method writes a character into a buffer as UTF-8
+     *
+     * @param out the buffer to write to
+     * @param c   the character
+     *
+     * @pre [c is not half of a surrogate pair] AND out.remaining() ≥ 3
+     * @post [out holds the 1 to 3 bytes of c at its old position]
+     */
+    private static void putChar(ByteBuffer out, char c) {
+        if (c < 0x80) {
+            out.put((byte) c);
+        }
+        else if (c < 0x800) {
+            out.put((byte) (0xC0 | (c >> 6))).put((byte) (0x80 | (c & 0x3F)));
+        }
+        else {
+            out.put((byte) (0xE0 | (c >> 12))).put((byte) (0x80 | ((c >> 6) & 0x3F))).put((byte) (0x80 | (c & 0x3F)));
+        }
     }
-}
+}
\ No newline at end of file
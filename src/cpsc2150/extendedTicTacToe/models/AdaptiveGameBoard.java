@@ -0,0 +1,213 @@
+package cpsc2150.extendedTicTacToe.models;
+
+
+/**
+ * This class is used to implement IGameBoard by starting out as a sparse GameBoardMem and moving the
+ * markers over to a dense GameBoardCompact once enough of the board is filled. Early on the hash table is
+ * smaller and cheaper to build than a full grid, but every marker makes it bigger and slower to probe,
+ * so a long game ends up on the board that is faster to read
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant board is a GameBoardMem or a GameBoardCompact of numRows x numColumns
+ *            AND (dense = true iff board is a GameBoardCompact)
+ *            AND (dense = false implies board.getNumMarkers() ≤ migrateAt)
+ *            AND 0 ≤ migrateAt ≤ numRows * numColumns
+ *
+ * @correspondence NUMROWS = board.getNumRows() AND
+ *                 NUMCOLUMNS = board.getNumColumns() AND
+ *                 NUMTOKENS = board.getNumToWin() AND
+ *                 self = board
+ */
+
+public class AdaptiveGameBoard extends AbsGameBoard implements IGameBoard {
+    /**
+     * The share of the board that can be filled before the markers move to a dense board. A GameBoardMem
+     * keeps its table at most half full and spends 6 bytes a slot, so past about 1/12 of the board it holds
+     * more memory than the 1 byte a position of a GameBoardCompact while still being slower to read
+     */
+    public static final double DENSE_FILL = 1.0 / 12;
+
+    private IGameBoard board;
+    private boolean dense;
+    private int migrateAt;
+
+
+    /**
+     * Parameterized constructor creates an object of the AdaptiveGameBoard class that moves to a dense
+     * board after DENSE_FILL of it is filled
+     *
+     * @param   r represents the number of rows
+     * @param   c represents the number of columns
+     * @param   t represents the number of tokens
+     *
+     * @pre     MINNUM ≤ r ≤ MAXNUMROWS
+     *          AND MINNUM ≤ c ≤ MAXNUMCOLUMNS
+     *          AND MINNUM ≤ t ≤ MAXNUMTOKENS
+     *          AND t ≤ r
+     *          AND t ≤ c
+     *
+     * @post    board = new GameBoardMem(r, c, t) AND dense = false
+     *          AND migrateAt = [DENSE_FILL of r * c, rounded down]
+     */
+    public AdaptiveGameBoard(int r, int c, int t) {
+        this(r, c, t, DENSE_FILL);
+    }
+
+    /**
+     * Parameterized constructor creates an object of the AdaptiveGameBoard class that moves to a dense
+     * board after a given share of it is filled
+     *
+     * @param   r    represents the number of rows
+     * @param   c    represents the number of columns
+     * @param   t    represents the number of tokens
+     * @param   fill the share of the positions that can be filled before moving to a dense board
+     *
+     * @pre     MINNUM ≤ r ≤ MAXNUMROWS
+     *          AND MINNUM ≤ c ≤ MAXNUMCOLUMNS
+     *          AND MINNUM ≤ t ≤ MAXNUMTOKENS
+     *          AND t ≤ r
+     *          AND t ≤ c
+     *          AND 0 ≤ fill ≤ 1
+     *
+     * @post    board = new GameBoardMem(r, c, t) AND dense = false
+     *          AND migrateAt = [fill of r * c, rounded down]
+     */
+    public AdaptiveGameBoard(int r, int c, int t, double fill) {
+        board = new GameBoardMem(r, c, t);
+        dense = false;
+        migrateAt = (int) (fill * r * c);
+    }
+
+    /**
+     * Copy constructor creates an object of the AdaptiveGameBoard class with a copy of another's board
+     *
+     * @param   other the board to copy
+     *
+     * @pre     NONE
+     *
+     * @post    self = other AND [changes to self do not change other]
+     */
+    private AdaptiveGameBoard(AdaptiveGameBoard other) {
+        board = other.board.copy();
+        dense = other.dense;
+        migrateAt = other.migrateAt;
+    }
+
+    /**
+     * This function reports if the markers have moved to a dense board
+     *
+     * @return  True if the markers are on a GameBoardCompact and False if they are still on a GameBoardMem
+     *
+     * @pre     NONE
+     *
+     * @post    isDense = dense AND self = #self
+     */
+    public boolean isDense() {
+        return dense;
+    }
+
+    public int getNumRows() {
+        return board.getNumRows();
+    }
+
+
+    public int getNumColumns(){
+        return board.getNumColumns();
+    }
+
+
+    public int getNumToWin() {
+        return board.getNumToWin();
+    }
+
+
+    public char whatsAtPos(BoardPosition pos) {
+        return board.whatsAtPos(pos);
+    }
+
+
+    public void placeMarker(BoardPosition marker, char player) {
+        board.placeMarker(marker, player);
+        if (!dense && board.getNumMarkers() > migrateAt) {
+            migrate();
+        }
+    }
+
+
+    public void removeMarker(BoardPosition marker) {
+        board.removeMarker(marker);
+    }
+
+
+    public BoardPosition undo() {
+        return board.undo();
+    }
+
+    public IGameBoard copy() {
+        return new AdaptiveGameBoard(this);
+    }
+
+    @Override
+    public boolean checkSpace(BoardPosition pos) {
+        return board.checkSpace(pos);
+    }
+
+    @Override
+    public boolean isPlayerAtPos(BoardPosition pos, char player) {
+        return board.isPlayerAtPos(pos, player);
+    }
+
+    @Override
+    public boolean checkForWinner(BoardPosition lastPos) {
+        return board.checkForWinner(lastPos);
+    }
+
+    @Override
+    public int getNumMarkers() {
+        return board.getNumMarkers();
+    }
+
+    @Override
+    public long getZobristHash() {
+        return board.getZobristHash();
+    }
+
+    @Override
+    public boolean checkForDraw() {
+        return board.checkForDraw();
+    }
+
+    @Override
+    public boolean checkForEarlyDraw() {
+        return board.checkForEarlyDraw();
+    }
+
+    /**
+     * This function moves every marker onto a new GameBoardCompact, in the order they were placed so undo
+     * still takes them back in the same order
+     *
+     * @pre     dense = false
+     *
+     * @post    board = [a GameBoardCompact with the same markers and move history as #board] AND dense = true
+     */
+    private void migrate() {
+        int numMarkers = board.getNumMarkers();
+        BoardPosition[] positions = new BoardPosition[numMarkers];
+        char[] players = new char[numMarkers];
+
+        //undo hands back each position already cleared, so the players are read off a copy
+        IGameBoard markers = board.copy();
+        for (int i = numMarkers - 1; i >= 0; i--) {
+            positions[i] = board.undo();
+            players[i] = markers.whatsAtPos(positions[i]);
+        }
+
+        board = new GameBoardCompact(board.getNumRows(), board.getNumColumns(), board.getNumToWin());
+        for (int i = 0; i < numMarkers; i++) {
+            board.placeMarker(positions[i], players[i]);
+        }
+        dense = true;
+    }
+}
@@ -0,0 +1,103 @@
+package cpsc2150.extendedTicTacToe.models;
+
+
+/**
+ * This class picks the IGameBoard implementation for a game from its size, number of players and how full
+ * the board is expected to get. Boards of at most DENSE_CUTOFF positions are always a GameBoard. Larger boards
+ * with at most BIT_MAX_PLAYERS players that fit in GameBoardBit.MAX_BIT_SIZE rows and columns are a
+ * GameBoardBit. Anything else is an AdaptiveGameBoard when the fill is not known, a GameBoardMem when at most
+ * AdaptiveGameBoard.DENSE_FILL of it is expected to fill, and a GameBoardCompact otherwise.
+ * The BoardBenchmark runs in the bench module compare the implementations on the board sizes and fills
+ * this rule is meant for; rerun them before moving a cutoff
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ */
+
+public final class BoardFactory {
+    /**
+     * The largest number of positions a board can have and still always be a GameBoard.
+     * Small grids cost next to nothing to build, so there is nothing to save by going sparse
+     */
+    public static final int DENSE_CUTOFF = 64;
+
+    /**
+     * The most players a GameBoardBit is used for. Every player has their own set of words,
+     * so placing a marker and finding a player's words both get slower as players are added
+     */
+    public static final int BIT_MAX_PLAYERS = 4;
+
+    /**
+     * The expected fill used when the caller does not know how full the board will get
+     */
+    public static final double UNKNOWN_FILL = -1;
+
+    private BoardFactory() {
+    }
+
+    /**
+     * This function creates an empty board for a game whose length is not known in advance
+     *
+     * @param   rows    the number of rows
+     * @param   cols    the number of columns
+     * @param   numWin  the number of tokens in a row needed to win
+     * @param   players the number of players
+     * @return  the new board
+     *
+     * @pre     MINNUM ≤ rows ≤ MAXNUMROWS
+     *          AND MINNUM ≤ cols ≤ MAXNUMCOLUMNS
+     *          AND MINNUM ≤ numWin ≤ MAXNUMTOKENS
+     *          AND numWin ≤ rows AND numWin ≤ cols
+     *          AND players ≥ 2
+     *
+     * @post    create = create(rows, cols, numWin, players, UNKNOWN_FILL)
+     */
+    public static IGameBoard create(int rows, int cols, int numWin, int players) {
+        return create(rows, cols, numWin, players, UNKNOWN_FILL);
+    }
+
+    /**
+     * This function creates an empty board, picking the implementation that should be cheapest for the game
+     *
+     * @param   rows         the number of rows
+     * @param   cols         the number of columns
+     * @param   numWin       the number of tokens in a row needed to win
+     * @param   players      the number of players
+     * @param   expectedFill the share of the positions expected to be filled by the end of the game,
+     *                       or UNKNOWN_FILL if it is not known
+     * @return  the new board
+     *
+     * @pre     MINNUM ≤ rows ≤ MAXNUMROWS
+     *          AND MINNUM ≤ cols ≤ MAXNUMCOLUMNS
+     *          AND MINNUM ≤ numWin ≤ MAXNUMTOKENS
+     *          AND numWin ≤ rows AND numWin ≤ cols
+     *          AND players ≥ 2
+     *          AND (0 ≤ expectedFill ≤ 1 OR expectedFill = UNKNOWN_FILL)
+     *
+     * @post    [create is an empty board of rows x cols with numWin to win] AND
+     *          (rows * cols ≤ DENSE_CUTOFF implies [create is a GameBoard]) AND
+     *          (rows * cols > DENSE_CUTOFF AND players ≤ BIT_MAX_PLAYERS AND rows ≤ GameBoardBit.MAX_BIT_SIZE
+     *          AND cols ≤ GameBoardBit.MAX_BIT_SIZE implies [create is a GameBoardBit]) AND
+     *          [otherwise create is a GameBoardMem if expectedFill ≤ AdaptiveGameBoard.DENSE_FILL,
+     *          a GameBoardCompact if expectedFill is known and larger, and an AdaptiveGameBoard if it is unknown]
+     */
+    public static IGameBoard create(int rows, int cols, int numWin, int players, double expectedFill) {
+        if (rows * cols <= DENSE_CUTOFF) {
+            return new GameBoard(rows, cols, numWin);
+        }
+        else if (players <= BIT_MAX_PLAYERS && rows <= GameBoardBit.MAX_BIT_SIZE
+                && cols <= GameBoardBit.MAX_BIT_SIZE) {
+            return new GameBoardBit(rows, cols, numWin);
+        }
+        else if (expectedFill == UNKNOWN_FILL) {
+            //start sparse and let the board move itself once it fills up
+            return new AdaptiveGameBoard(rows, cols, numWin);
+        }
+        else if (expectedFill <= AdaptiveGameBoard.DENSE_FILL) {
+            return new GameBoardMem(rows, cols, numWin);
+        }
+        else {
+            return new GameBoardCompact(rows, cols, numWin);
+        }
+    }
+}
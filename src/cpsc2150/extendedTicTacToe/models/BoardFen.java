@@ -0,0 +1,174 @@
+package cpsc2150.extendedTicTacToe.models;
+
+
+/**
+ * This class reads and writes the one line board encoding of AbsGameBoard.toFen, which looks like
+ * {@code 3x3:3 X2/1O1/3}: the number of rows and columns and the number to win, then each row from the top
+ * separated by '/', with every marker as its character and every stretch of empty positions as its length.
+ * Parsing keeps the markers as move lists, so boards are built from it with their batch replay constructors
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant rows.length = cols.length = players.length
+ *            AND [every move is on a numRows x numColumns board and they are listed row by row]
+ *
+ * @correspondence self = [a numRows x numColumns board with numToWin to win holding players[i] at [rows[i]][cols[i]]]
+ */
+final class BoardFen {
+    final int numRows;
+    final int numColumns;
+    final int numToWin;
+    final int[] rows;
+    final int[] cols;
+    final char[] players;
+
+    /**
+     * Parameterized constructor creates a parsed board
+     *
+     * @param   r the number of rows
+     * @param   c the number of columns
+     * @param   t the number to win
+     * @param   n the number of markers
+     *
+     * @pre     n ≥ 0
+     *
+     * @post    numRows = r AND numColumns = c AND numToWin = t AND |rows| = |cols| = |players| = n
+     */
+    private BoardFen(int r, int c, int t, int n) {
+        numRows = r;
+        numColumns = c;
+        numToWin = t;
+        rows = new int[n];
+        cols = new int[n];
+        players = new char[n];
+    }
+
+    /**
+     * This function encodes a board
+     *
+     * @param   board the board to encode
+     * @return  the FEN of board
+     *
+     * @pre     [no marker on board is a digit, '/' or ' ']
+     *
+     * @post    encode = [the FEN of board] AND board = #board
+     */
+    static String encode(IGameBoard board) {
+        int maxRow = board.getNumRows();
+        int maxColumn = board.getNumColumns();
+        StringBuilder fen = new StringBuilder(maxRow * (maxColumn + 1) + 16);
+        fen.append(maxRow).append('x').append(maxColumn).append(':').append(board.getNumToWin()).append(' ');
+        for (int r = 0; r < maxRow; r++) {
+            if (r > 0) {
+                fen.append('/');
+            }
+            int empty = 0;
+            for (int c = 0; c < maxColumn; c++) {
+                char player = board.whatsAtPos(BoardPosition.of(r, c));
+                if (player == ' ') {
+                    empty++;
+                }
+                else {
+                    if (empty > 0) {
+                        fen.append(empty);
+                        empty = 0;
+                    }
+                    fen.append(player);
+                }
+            }
+            if (empty > 0) {
+                fen.append(empty);
+            }
+        }
+        return fen.toString();
+    }
+
+    /**
+     * This function parses a FEN
+     *
+     * @param   fen the encoding to parse
+     * @return  the board fen describes
+     *
+     * @pre     fen ≠ null
+     *
+     * @post    parse = [the board described by fen]
+     *
+     * @throws  IllegalArgumentException if fen is not a valid encoding
+     */
+    static BoardFen parse(String fen) {
+        int x = fen.indexOf('x');
+        int colon = fen.indexOf(':');
+        int space = fen.indexOf(' ');
+        if (x < 0 || colon < x || space < colon) {
+            throw new IllegalArgumentException("Bad board FEN: " + fen);
+        }
+        int maxRow;
+        int maxColumn;
+        int win;
+        try {
+            maxRow = Integer.parseInt(fen.substring(0, x));
+            maxColumn = Integer.parseInt(fen.substring(x + 1, colon));
+            win = Integer.parseInt(fen.substring(colon + 1, space));
+        }
+        catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad board FEN: " + fen, e);
+        }
+        if (maxRow < 1 || maxColumn < 1 || win < 1) {
+            throw new IllegalArgumentException("Bad board FEN: " + fen);
+        }
+
+        //count the markers first so the move lists are allocated once
+        int numMarkers = 0;
+        for (int i = space + 1; i < fen.length(); i++) {
+            char ch = fen.charAt(i);
+            if (ch != '/' && (ch < '0' || ch > '9')) {
+                numMarkers++;
+            }
+        }
+
+        BoardFen board = new BoardFen(maxRow, maxColumn, win, numMarkers);
+        int r = 0;
+        int c = 0;
+        int n = 0;
+        int i = space + 1;
+        while (i < fen.length()) {
+            char ch = fen.charAt(i);
+            if (ch == '/') {
+                if (c != maxColumn) {
+                    throw new IllegalArgumentException("Row " + r + " of board FEN has " + c + " columns: " + fen);
+                }
+                r++;
+                c = 0;
+                i++;
+            }
+            else if (ch >= '0' && ch <= '9') {
+                long empty = 0;
+                while (i < fen.length() && fen.charAt(i) >= '0' && fen.charAt(i) <= '9') {
+                    empty = empty * 10 + fen.charAt(i) - '0';
+                    //stop before the count can overflow, no row has room for more than maxColumn
+                    if (empty > maxColumn - c) {
+                        throw new IllegalArgumentException("Row " + r + " of board FEN has too many columns: " + fen);
+                    }
+                    i++;
+                }
+                c += (int) empty;
+            }
+            else {
+                if (r >= maxRow || c < 0 || c >= maxColumn || ch == ' ') {
+                    throw new IllegalArgumentException("Marker off the board in board FEN: " + fen);
+                }
+                board.rows[n] = r;
+                board.cols[n] = c;
+                board.players[n] = ch;
+                n++;
+                c++;
+                i++;
+            }
+        }
+        if (r != maxRow - 1 || c != maxColumn) {
+            throw new IllegalArgumentException("Board FEN does not fill a " + maxRow + "x" + maxColumn + " board: " + fen);
+        }
+        return board;
+    }
+}
@@ -6,13 +6,32 @@ package cpsc2150.extendedTicTacToe.models;
  * @author Sumanth Pandiri
  * @version 1.0
  *
+ * Board positions are immutable, so the positions of boards up to CACHE_SIZE x CACHE_SIZE are shared
+ * through {@link #of(int, int)} instead of being allocated every time a board is probed
+ *
  * @invariant 0  ≤ row ≤ MAX_SIZE
  *            AND 0  ≤ column ≤ MAX_SIZE
+ *            AND row and column never change after construction
  */
 
-public class BoardPosition {
-    private int row;
-    private int column;
+public final class BoardPosition {
+    /**
+     * The number of rows and columns with shared positions, matching the largest board the setup screen allows
+     */
+    public static final int CACHE_SIZE = 20;
+
+    private static final BoardPosition[][] CACHE = new BoardPosition[CACHE_SIZE][CACHE_SIZE];
+
+    static {
+        for (int r = 0; r < CACHE_SIZE; r++) {
+            for (int c = 0; c < CACHE_SIZE; c++) {
+                CACHE[r][c] = new BoardPosition(r, c);
+            }
+        }
+    }
+
+    private final int row;
+    private final int column;
 
     /**
      * Constructor creates a board position with the specific row and column taken as input
@@ -31,6 +50,28 @@ public class BoardPosition {
         column = c;
     }
 
+    /**
+     * This method returns the board position with the specific row and column, reusing a shared
+     * instance when the position is inside the cache
+     *
+     * @param r     The row of the position
+     * @param c     The column of the position
+     *
+     * @return a board position equal to new BoardPosition(r, c)
+     *
+     * @pre 0  ≤ r ≤ MAX_SIZE
+     *      AND 0  ≤ c ≤ MAX_SIZE
+     *
+     * @post of.getRow() = r AND of.getColumn() = c
+     *      AND (of = CACHE[r][c] iff r < CACHE_SIZE AND c < CACHE_SIZE)
+     */
+    public static BoardPosition of(int r, int c) {
+        if (r >= 0 && r < CACHE_SIZE && c >= 0 && c < CACHE_SIZE) {
+            return CACHE[r][c];
+        }
+        return new BoardPosition(r, c);
+    }
+
 
     /**
      * Function override for toString method. The function returns a string of the board position
@@ -91,6 +132,9 @@ public class BoardPosition {
      */
     @Override
     public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
         if (obj instanceof BoardPosition) {
             BoardPosition c = (BoardPosition) obj;
             if (row == c.getRow() && column == c.getColumn()) {
@@ -99,4 +143,19 @@ public class BoardPosition {
         }
         return false;
     }
+
+    /**
+     * Function override for hashCode method. Two board positions that are equal produce the same hash code
+     *
+     * @return the hash code of the board position
+     *
+     * @pre NONE
+     * @post hashCode = 31 * row + column
+     *      AND row = #row
+     *      AND column = #column
+     */
+    @Override
+    public int hashCode() {
+        return 31 * row + column;
+    }
 }
@@ -0,0 +1,226 @@
+package cpsc2150.extendedTicTacToe.models;
+
+
+/**
+ * This class finds the canonical form of a board under its symmetries, so positions that are turns or
+ * flips of each other can share one entry in a transposition table or result cache. A rectangular board has
+ * 4 symmetries: the identity, the two flips and the half turn. A square board also has the two quarter turns
+ * and the two diagonal flips, for 8.
+ * The hash of the image of a board under a symmetry is the Zobrist hash of the board with every marker moved
+ * by the symmetry, so the hashes of all the images can be kept up to date with one XOR each as markers are
+ * placed and removed. The canonical hash is the smallest of them
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant maps.length = (numRows = numColumns ? 8 : 4) AND |maps[s]| = |inverses[s]| = numRows * numColumns
+ *            AND maps[0] is the identity
+ *            AND [maps[s][i] is the row-major index position i moves to under symmetry s]
+ *            AND inverses[s][maps[s][i]] = i
+ *
+ * @correspondence self = [the symmetries of a numRows x numColumns board]
+ */
+public final class BoardSymmetry {
+    private final int numRows;
+    private final int numColumns;
+    private final int[][] maps;
+    private final int[][] inverses;
+
+    /**
+     * Parameterized constructor creates the symmetries of a board
+     *
+     * @param   r the number of rows
+     * @param   c the number of columns
+     *
+     * @pre     r > 0 AND c > 0
+     *
+     * @post    numRows = r AND numColumns = c AND [maps and inverses hold every symmetry of an r x c board]
+     */
+    public BoardSymmetry(int r, int c) {
+        numRows = r;
+        numColumns = c;
+        int count = r == c ? 8 : 4;
+        maps = new int[count][r * c];
+        inverses = new int[count][r * c];
+        for (int row = 0; row < r; row++) {
+            for (int col = 0; col < c; col++) {
+                int i = row * c + col;
+                maps[0][i] = i;
+                maps[1][i] = (r - 1 - row) * c + col;
+                maps[2][i] = row * c + (c - 1 - col);
+                maps[3][i] = (r - 1 - row) * c + (c - 1 - col);
+                if (count == 8) {
+                    maps[4][i] = col * c + row;
+                    maps[5][i] = (c - 1 - col) * c + (r - 1 - row);
+                    maps[6][i] = col * c + (r - 1 - row);
+                    maps[7][i] = (c - 1 - col) * c + row;
+                }
+            }
+        }
+        for (int s = 0; s < count; s++) {
+            for (int i = 0; i < r * c; i++) {
+                inverses[s][maps[s][i]] = i;
+            }
+        }
+    }
+
+    /**
+     * This function returns the number of rows of the board
+     *
+     * @return  the number of rows
+     *
+     * @pre     NONE
+     *
+     * @post    getNumRows = numRows
+     */
+    public int getNumRows() {
+        return numRows;
+    }
+
+    /**
+     * This function returns the number of columns of the board
+     *
+     * @return  the number of columns
+     *
+     * @pre     NONE
+     *
+     * @post    getNumColumns = numColumns
+     */
+    public int getNumColumns() {
+        return numColumns;
+    }
+
+    /**
+     * This function returns the number of symmetries of the board
+     *
+     * @return  8 for a square board and 4 otherwise
+     *
+     * @pre     NONE
+     *
+     * @post    getNumSymmetries = |maps|
+     */
+    public int getNumSymmetries() {
+        return maps.length;
+    }
+
+    /**
+     * This function moves a position by a symmetry
+     *
+     * @param   symmetry the index of the symmetry
+     * @param   index    the row-major index row * numColumns + column of the position
+     * @return  the row-major index the position moves to
+     *
+     * @pre     0 ≤ symmetry < getNumSymmetries() AND 0 ≤ index < numRows * numColumns
+     *
+     * @post    map = maps[symmetry][index]
+     */
+    public int map(int symmetry, int index) {
+        return maps[symmetry][index];
+    }
+
+    /**
+     * This function moves a position of an image back to where it came from on the board
+     *
+     * @param   symmetry the index of the symmetry that made the image
+     * @param   index    the row-major index of the position on the image
+     * @return  the row-major index of the position that symmetry moves to index
+     *
+     * @pre     0 ≤ symmetry < getNumSymmetries() AND 0 ≤ index < numRows * numColumns
+     *
+     * @post    map(symmetry, unmap) = index
+     */
+    public int unmap(int symmetry, int index) {
+        return inverses[symmetry][index];
+    }
+
+    /**
+     * This function hashes every image of a board
+     *
+     * @param   board the board to hash
+     * @return  for each symmetry s, the Zobrist hash of the image of board under s
+     *
+     * @pre     board.getNumRows() = numRows AND board.getNumColumns() = numColumns
+     *
+     * @post    |hashes| = getNumSymmetries() AND hashes[0] = board.getZobristHash()
+     *          AND hashes[s] = [XOR of Zobrist.key(map(s, i), player) for every marker player at index i of board]
+     *          AND board = #board
+     */
+    public long[] hashes(IGameBoard board) {
+        long[] hashes = new long[maps.length];
+        for (int r = 0; r < numRows; r++) {
+            for (int c = 0; c < numColumns; c++) {
+                char player = board.whatsAtPos(BoardPosition.of(r, c));
+                if (player != ' ') {
+                    toggle(hashes, r * numColumns + c, player);
+                }
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * This function updates the hashes of every image of a board for a marker being placed or removed
+     *
+     * @param   hashes the hashes of the images, as returned by hashes
+     * @param   index  the row-major index of the marker
+     * @param   player the player of the marker
+     *
+     * @pre     |hashes| = getNumSymmetries() AND 0 ≤ index < numRows * numColumns
+     *
+     * @post    hashes[s] = #hashes[s] XOR Zobrist.key(map(s, index), player) for every s
+     */
+    public void toggle(long[] hashes, int index, char player) {
+        for (int s = 0; s < maps.length; s++) {
+            hashes[s] ^= Zobrist.key(maps[s][index], player);
+        }
+    }
+
+    /**
+     * This function returns which symmetry gives the canonical image, the image with the smallest hash
+     *
+     * @param   hashes the hashes of the images of a board
+     * @return  the index of the symmetry whose image has the smallest hash, the lowest index on a tie
+     *
+     * @pre     |hashes| = getNumSymmetries()
+     *
+     * @post    hashes[canonicalSymmetry] = [min of hashes] AND hashes = #hashes
+     */
+    public int canonicalSymmetry(long[] hashes) {
+        int best = 0;
+        for (int s = 1; s < hashes.length; s++) {
+            if (hashes[s] < hashes[best]) {
+                best = s;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * This function returns the hash that a board shares with all its turns and flips
+     *
+     * @param   hashes the hashes of the images of a board
+     * @return  the smallest of the hashes
+     *
+     * @pre     |hashes| = getNumSymmetries()
+     *
+     * @post    canonicalHash = [min of hashes] AND hashes = #hashes
+     */
+    public long canonicalHash(long[] hashes) {
+        return hashes[canonicalSymmetry(hashes)];
+    }
+
+    /**
+     * This function returns the hash that a board shares with all its turns and flips
+     *
+     * @param   board the board to hash
+     * @return  the smallest hash of any image of board
+     *
+     * @pre     board.getNumRows() = numRows AND board.getNumColumns() = numColumns
+     *
+     * @post    canonicalHash = canonicalHash(hashes(board))
+     *          AND [canonicalHash is the same for board and every image of it] AND board = #board
+     */
+    public long canonicalHash(IGameBoard board) {
+        return canonicalHash(hashes(board));
+    }
+}
@@ -0,0 +1,310 @@
+package cpsc2150.extendedTicTacToe.models;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * This class is used to implement IGameBoard by wrapping another board so that one thread can play on it
+ * while any number of other threads read it, without the readers ever blocking each other or the writer.
+ * Every change is made to the wrapped board and to a flat copy of its positions under the write lock of a
+ * StampedLock, which works as a sequence lock: readers copy what they need from the flat copy with an
+ * optimistic read and only try again if a change happened while they were copying. The wrapped board itself
+ * is only ever touched by the writer, so it can be any implementation, even one that is not safe to read
+ * while it changes, like the HashMap of a GameBoardMem
+ *
+ * The reads that are safe from any thread are getNumRows, getNumColumns, getNumToWin, whatsAtPos,
+ * checkSpace, isPlayerAtPos, getNumMarkers, getVersion, snapshot and the text and FEN of the board.
+ * Every other function, including every change, must only be called by the one thread that plays
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant cells.length = NUMROWS * NUMCOLUMNS
+ *            AND [outside of a write, cells[r * NUMCOLUMNS + c] = board.whatsAtPos([r][c]) for every [r][c]
+ *            and numMarkers = board.getNumMarkers()]
+ *            AND [version goes up by one for every change]
+ *
+ * @correspondence NUMROWS = board.getNumRows() AND
+ *                 NUMCOLUMNS = board.getNumColumns() AND
+ *                 NUMTOKENS = board.getNumToWin() AND
+ *                 self = board
+ */
+
+public class ConcurrentGameBoard extends AbsGameBoard implements IGameBoard {
+    //optimistic tries a snapshot makes before taking the read lock, so a busy writer can not starve it
+    private static final int OPTIMISTIC_TRIES = 4;
+
+    private final IGameBoard board;
+    private final int numRows;
+    private final int numColumns;
+    private final int numTokens;
+    private final char[] cells;
+    private final StampedLock lock;
+    private int numMarkers;
+    private long version;
+
+
+    /**
+     * Parameterized constructor creates an object of the ConcurrentGameBoard class around a board
+     *
+     * @param   b the board to wrap, which must not be used directly afterwards
+     *
+     * @pre     b ≠ null
+     *
+     * @post    board = b AND [cells holds every position of b] AND numMarkers = b.getNumMarkers() AND version = 0
+     */
+    public ConcurrentGameBoard(IGameBoard b) {
+        board = b;
+        numRows = b.getNumRows();
+        numColumns = b.getNumColumns();
+        numTokens = b.getNumToWin();
+        cells = new char[numRows * numColumns];
+        for (int r = 0; r < numRows; r++) {
+            for (int c = 0; c < numColumns; c++) {
+                cells[r * numColumns + c] = b.whatsAtPos(BoardPosition.of(r, c));
+            }
+        }
+        lock = new StampedLock();
+        numMarkers = b.getNumMarkers();
+        version = 0;
+    }
+
+    public int getNumRows() {
+        return numRows;
+    }
+
+
+    public int getNumColumns(){
+        return numColumns;
+    }
+
+
+    public int getNumToWin() {
+        return numTokens;
+    }
+
+
+    public char whatsAtPos(BoardPosition pos) {
+        int index = pos.getRow() * numColumns + pos.getColumn();
+        //a single char is never torn, but validating still orders the read after the write that made it
+        long stamp = lock.tryOptimisticRead();
+        char player = cells[index];
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                player = cells[index];
+            }
+            finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return player;
+    }
+
+
+    public void placeMarker(BoardPosition marker, char player) {
+        long stamp = lock.writeLock();
+        try {
+            board.placeMarker(marker, player);
+            cells[marker.getRow() * numColumns + marker.getColumn()] = player;
+            numMarkers++;
+            version++;
+        }
+        finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+
+    public void removeMarker(BoardPosition marker) {
+        long stamp = lock.writeLock();
+        try {
+            board.removeMarker(marker);
+            cells[marker.getRow() * numColumns + marker.getColumn()] = ' ';
+            numMarkers--;
+            version++;
+        }
+        finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+
+    public BoardPosition undo() {
+        long stamp = lock.writeLock();
+        try {
+            BoardPosition pos = board.undo();
+            if (pos != null) {
+                cells[pos.getRow() * numColumns + pos.getColumn()] = ' ';
+                numMarkers--;
+                version++;
+            }
+            return pos;
+        }
+        finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public IGameBoard copy() {
+        return new ConcurrentGameBoard(board.copy());
+    }
+
+    @Override
+    public void placeMarkers(int[] rows, int[] cols, char[] players) {
+        long stamp = lock.writeLock();
+        try {
+            board.placeMarkers(rows, cols, players);
+            for (int i = 0; i < rows.length; i++) {
+                cells[rows[i] * numColumns + cols[i]] = players[i];
+            }
+            numMarkers += rows.length;
+            version++;
+        }
+        finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean checkSpace(BoardPosition pos) {
+        int r = pos.getRow();
+        int c = pos.getColumn();
+        return r >= 0 && r < numRows && c >= 0 && c < numColumns && whatsAtPos(pos) == ' ';
+    }
+
+    @Override
+    public boolean isPlayerAtPos(BoardPosition pos, char player) {
+        return whatsAtPos(pos) == player;
+    }
+
+    @Override
+    public int getNumMarkers() {
+        long stamp = lock.tryOptimisticRead();
+        int num = numMarkers;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                num = numMarkers;
+            }
+            finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return num;
+    }
+
+    @Override
+    public boolean checkForWinner(BoardPosition lastPos) {
+        return board.checkForWinner(lastPos);
+    }
+
+    @Override
+    public char findWinner() {
+        return board.findWinner();
+    }
+
+    @Override
+    public long getZobristHash() {
+        return board.getZobristHash();
+    }
+
+    @Override
+    public boolean checkForDraw() {
+        return board.checkForDraw();
+    }
+
+    @Override
+    public boolean checkForEarlyDraw() {
+        return board.checkForEarlyDraw();
+    }
+
+    /**
+     * This function returns the number of changes made to the board, so a reader can tell if it has
+     * changed since it last looked
+     *
+     * @return  the number of changes since construction
+     *
+     * @pre     NONE
+     *
+     * @post    getVersion = version AND self = #self
+     */
+    public long getVersion() {
+        long stamp = lock.tryOptimisticRead();
+        long num = version;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                num = version;
+            }
+            finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return num;
+    }
+
+    /**
+     * This function copies every position at a single point in time onto a new board that belongs to
+     * the caller. The markers are placed on the copy row by row, so undo on it does not follow the order
+     * the game was played in
+     *
+     * @return  a new GameBoard holding the markers of self at one moment
+     *
+     * @pre     NONE
+     *
+     * @post    [snapshot holds the markers of self between two changes] AND self = #self
+     */
+    public IGameBoard snapshot() {
+        char[] copy = new char[cells.length];
+        int num = -1;
+        for (int tries = 0; tries < OPTIMISTIC_TRIES && num < 0; tries++) {
+            long stamp = lock.tryOptimisticRead();
+            System.arraycopy(cells, 0, copy, 0, cells.length);
+            num = numMarkers;
+            if (!lock.validate(stamp)) {
+                num = -1;
+            }
+        }
+        if (num < 0) {
+            long stamp = lock.readLock();
+            try {
+                System.arraycopy(cells, 0, copy, 0, cells.length);
+                num = numMarkers;
+            }
+            finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        int[] rows = new int[num];
+        int[] cols = new int[num];
+        char[] players = new char[num];
+        int n = 0;
+        for (int i = 0; i < copy.length; i++) {
+            if (copy[i] != ' ') {
+                rows[n] = i / numColumns;
+                cols[n] = i % numColumns;
+                players[n] = copy[i];
+                n++;
+            }
+        }
+        return new GameBoard(numRows, numColumns, numTokens, rows, cols, players);
+    }
+
+    @Override
+    public void appendTo(Appendable out) throws IOException {
+        ((AbsGameBoard) snapshot()).appendTo(out);
+    }
+
+    @Override
+    public void writeTo(ByteBuffer out) {
+        ((AbsGameBoard) snapshot()).writeTo(out);
+    }
+
+    @Override
+    public String toFen() {
+        return ((AbsGameBoard) snapshot()).toFen();
+    }
+}
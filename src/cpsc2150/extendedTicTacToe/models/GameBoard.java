@@ -3,6 +3,8 @@ package cpsc2150.extendedTicTacToe.models;
 
 /**
  * This class is used to implement IGameBoard
+ * It keeps the length of the run through every position up to date as markers are placed and removed,
+ * so checking for a win or reading a run is a lookup instead of a walk along the board
  *
  * @author Sumanth Pandiri
  * @version 1.0
@@ -13,6 +15,10 @@ package cpsc2150.extendedTicTacToe.models;
  *            AND MINNUM ≤ numTokens ≤ MAXNUMTOKENS
  *            AND numTokens ≤ numRows
  *            AND numTokens ≤ numColumns
+ *            AND numMarkers = [number of positions in board that are not ' ']
+ *            AND hash = [XOR of Zobrist.key(r * numColumns + c, board[r][c]) over positions that are not ' ']
+ *            AND moves holds the index r * numColumns + c of every position in board that is not ' '
+ *            AND runs holds the length of the run through every position of board in each direction
  *
  * @correspondence NUMROWS = numRows AND
  *                 NUMCOLUMNS = numColumns AND
@@ -21,10 +27,23 @@ package cpsc2150.extendedTicTacToe.models;
  */
 
 public class GameBoard extends AbsGameBoard implements IGameBoard {
+    /**
+     * The directions a run can be read in with getRunLength: along a row, along a column,
+     * down and to the right, and down and to the left
+     */
+    public static final int HORIZONTAL = 0;
+    public static final int VERTICAL = 1;
+    public static final int DIAGONAL = 2;
+    public static final int ANTI_DIAGONAL = 3;
+
     private char[][] board;
     private int numRows;
     private int numColumns;
     private int numTokens;
+    private int numMarkers;
+    private MoveHistory moves;
+    private RunTracker runs;
+    private long hash;
 
 
     /**
@@ -46,12 +65,19 @@ public class GameBoard extends AbsGameBoard implements IGameBoard {
      *          AND numRows = r
      *          AND numColumns = c
      *          AND numTokens = t
+     *          AND numMarkers = 0
+     *          AND hash = 0
+     *          AND [every run in runs is 0]
      *
      */
     public GameBoard(int r, int c, int t){
         numRows = r;
         numColumns = c;
         numTokens = t;
+        numMarkers = 0;
+        hash = 0;
+        moves = new MoveHistory(numRows * numColumns, numRows * numColumns);
+        runs = new RunTracker(numRows, numColumns);
         board = new char[numRows][numColumns];
         for (int i = 0; i < numRows; i++) {
             for (int j = 0; j < numColumns; j++) {
@@ -60,6 +86,72 @@ public class GameBoard extends AbsGameBoard implements IGameBoard {
         }
     }
 
+    /**
+     * Parameterized constructor creates an object of the GameBoard class with a recorded game already played on it
+     *
+     * @param   r       represents the number of rows
+     * @param   c       represents the number of columns
+     * @param   t       represents the number of tokens
+     * @param   rows    the row of each move, in the order they were played
+     * @param   cols    the column of each move
+     * @param   players the player of each move
+     *
+     * @pre     MINNUM ≤ r ≤ MAXNUMROWS
+     *          AND MINNUM ≤ c ≤ MAXNUMCOLUMNS
+     *          AND MINNUM ≤ t ≤ MAXNUMTOKENS
+     *          AND t ≤ r
+     *          AND t ≤ c
+     *          AND rows.length = cols.length = players.length
+     *          AND [every move is on the board and different from the others] AND [no character in players is ' ']
+     *
+     * @post    self = [new GameBoard(r, c, t) after placeMarkers(rows, cols, players)]
+     */
+    public GameBoard(int r, int c, int t, int[] rows, int[] cols, char[] players) {
+        this(r, c, t);
+        placeMarkers(rows, cols, players);
+    }
+
+    /**
+     * Copy constructor creates an object of the GameBoard class with the same markers, move history and hash as another
+     *
+     * @param   other the board to copy
+     *
+     * @pre     NONE
+     *
+     * @post    self = other AND [changes to self do not change other]
+     */
+    private GameBoard(GameBoard other) {
+        numRows = other.numRows;
+        numColumns = other.numColumns;
+        numTokens = other.numTokens;
+        numMarkers = other.numMarkers;
+        hash = other.hash;
+        moves = new MoveHistory(other.moves);
+        runs = new RunTracker(other.runs);
+        board = new char[numRows][];
+        for (int i = 0; i < numRows; i++) {
+            board[i] = other.board[i].clone();
+        }
+    }
+
+    /**
+     * This function creates a board from the encoding written by toFen. The markers are placed row by row,
+     * since the encoding does not keep the order they were played in
+     *
+     * @param   fen the encoding of the board
+     * @return  a new GameBoard holding the board fen describes
+     *
+     * @pre     [the size and number to win in fen meet the preconditions of the GameBoard constructor]
+     *
+     * @post    fromFen.toFen() = fen
+     *
+     * @throws  IllegalArgumentException if fen is not a valid encoding
+     */
+    public static GameBoard fromFen(String fen) {
+        BoardFen board = BoardFen.parse(fen);
+        return new GameBoard(board.numRows, board.numColumns, board.numToWin, board.rows, board.cols, board.players);
+    }
+
     public int getNumRows() {
         return numRows;
     }
@@ -82,6 +174,103 @@ public class GameBoard extends AbsGameBoard implements IGameBoard {
 
 
     public void placeMarker(BoardPosition marker, char player) {
+        int index = marker.getRow() * numColumns + marker.getColumn();
         board[marker.getRow()][marker.getColumn()] = player;
+        runs.place(marker.getRow(), marker.getColumn(), player);
+        numMarkers++;
+        hash ^= Zobrist.key(index, player);
+        moves.push(index);
+    }
+
+
+    @Override
+    public void placeMarkers(int[] rows, int[] cols, char[] players) {
+        for (int i = 0; i < rows.length; i++) {
+            int index = rows[i] * numColumns + cols[i];
+            board[rows[i]][cols[i]] = players[i];
+            hash ^= Zobrist.key(index, players[i]);
+            moves.push(index);
+        }
+        numMarkers += rows.length;
+        runs.placeAll(rows, cols, players);
+    }
+
+
+    public void removeMarker(BoardPosition marker) {
+        int index = marker.getRow() * numColumns + marker.getColumn();
+        hash ^= Zobrist.key(index, board[marker.getRow()][marker.getColumn()]);
+        runs.remove(marker.getRow(), marker.getColumn());
+        board[marker.getRow()][marker.getColumn()] = ' ';
+        numMarkers--;
+        moves.remove(index);
+    }
+
+
+    public BoardPosition undo() {
+        int index = moves.pop();
+        int r = index / numColumns;
+        int c = index % numColumns;
+        hash ^= Zobrist.key(index, board[r][c]);
+        runs.remove(r, c);
+        board[r][c] = ' ';
+        numMarkers--;
+        return BoardPosition.of(r, c);
+    }
+
+    public IGameBoard copy() {
+        return new GameBoard(this);
+    }
+
+    @Override
+    public int getNumMarkers() {
+        return numMarkers;
+    }
+
+    @Override
+    public long getZobristHash() {
+        return hash;
+    }
+
+    @Override
+    public boolean checkForWinner(BoardPosition lastPos) {
+        return runs.longest(lastPos.getRow(), lastPos.getColumn()) >= numTokens;
+    }
+
+    @Override
+    public char findWinner() {
+        return runs.findRun(numTokens);
+    }
+
+    @Override
+    public boolean checkHorizontalWin(BoardPosition lastPos, char player) {
+        return whatsAtPos(lastPos) == player && getRunLength(lastPos, HORIZONTAL) >= numTokens;
+    }
+
+    @Override
+    public boolean checkVerticalWin(BoardPosition lastPos, char player) {
+        return whatsAtPos(lastPos) == player && getRunLength(lastPos, VERTICAL) >= numTokens;
+    }
+
+    @Override
+    public boolean checkDiagonalWin(BoardPosition lastPos, char player) {
+        return whatsAtPos(lastPos) == player && (getRunLength(lastPos, DIAGONAL) >= numTokens
+                || getRunLength(lastPos, ANTI_DIAGONAL) >= numTokens);
+    }
+
+    /**
+     * This function returns the length of the run of markers through a position in one direction
+     *
+     * @param   pos       the position the run goes through
+     * @param   direction HORIZONTAL, VERTICAL, DIAGONAL or ANTI_DIAGONAL
+     * @return  the number of consecutive positions along direction holding the same marker as pos,
+     *          counting pos, or 0 if pos is ' '
+     *
+     * @pre     0 ≤ pos.getRow() < numRows AND 0 ≤ pos.getColumn() < numColumns
+     *          AND HORIZONTAL ≤ direction ≤ ANTI_DIAGONAL
+     *
+     * @post    getRunLength = [length of the run through pos along direction in #self] AND self = #self
+     */
+    public int getRunLength(BoardPosition pos, int direction) {
+        return runs.get(pos.getRow(), pos.getColumn(), direction);
     }
 }
@@ -0,0 +1,373 @@
+package cpsc2150.extendedTicTacToe.models;
+import java.util.Arrays;
+
+
+/**
+ * This class is used to implement IGameBoard using bitboards. Every player gets a packed long word
+ * for each row, column, diagonal and anti-diagonal of the board, so the win checks can find the run
+ * through the last move with a couple of shifts instead of walking the board one BoardPosition at a time
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant tokens only stores characters specified by the user
+ *            AND 0 ≤ numPlayers ≤ tokens.length
+ *            AND [rowBits, colBits, diagBits and antiBits of a player all describe the same set of positions]
+ *            AND [no position is set for more than one player]
+ *            AND MINNUM ≤ numRows ≤ MAX_BIT_SIZE
+ *            AND MINNUM ≤ numColumns ≤ MAX_BIT_SIZE
+ *            AND MINNUM ≤ numTokens ≤ MAXNUMTOKENS
+ *            AND numTokens ≤ numRows
+ *            AND numTokens ≤ numColumns
+ *            AND numMarkers = [number of positions set for any player]
+ *            AND hash = [XOR of Zobrist.key(r * numColumns + c, tokens[p]) over positions set for player p]
+ *            AND moves holds the index r * numColumns + c of every position set for any player
+ *
+ * @correspondence NUMROWS = numRows AND
+ *                 NUMCOLUMNS = numColumns AND
+ *                 NUMTOKENS = numTokens AND
+ *                 self = [position [r][c] holds tokens[p] iff bit c of rowBits[p][r] is set, and ' ' otherwise]
+ */
+
+public class GameBoardBit extends AbsGameBoard implements IGameBoard {
+    /**
+     * The largest number of rows or columns a bitboard can hold, one bit per cell in a long
+     */
+    public static final int MAX_BIT_SIZE = Long.SIZE;
+
+    private static final int START_PLAYERS = 10;
+
+    private char[] tokens;
+    private int numPlayers;
+    private long[][] rowBits;
+    private long[][] colBits;
+    private long[][] diagBits;
+    private long[][] antiBits;
+    private int numRows;
+    private int numColumns;
+    private int numTokens;
+    private int numMarkers;
+    private MoveHistory moves;
+    private long hash;
+
+
+    /**
+     * Parameterized constructor creates an object of the GameBoardBit class and inputs
+     *
+     * @param   r represents the number of rows
+     * @param   c represents the number of columns
+     * @param   t represents the number of tokens
+     *
+     * @pre     MINNUM ≤ r ≤ MAX_BIT_SIZE
+     *          AND MINNUM ≤ c ≤ MAX_BIT_SIZE
+     *          AND MINNUM ≤ t ≤ MAXNUMTOKENS
+     *          AND t ≤ r
+     *          AND t ≤ c
+     *
+     * @post    object of GameBoardBit class is created
+     *          AND board is empty
+     *          AND numRows = r
+     *          AND numColumns = c
+     *          AND numTokens = t
+     *          AND numMarkers = 0
+     *          AND hash = 0
+     *
+     */
+    public GameBoardBit(int r, int c, int t){
+        numRows = r;
+        numColumns = c;
+        numTokens = t;
+        tokens = new char[START_PLAYERS];
+        numPlayers = 0;
+        numMarkers = 0;
+        hash = 0;
+        moves = new MoveHistory(numRows * numColumns, numRows * numColumns);
+        rowBits = new long[START_PLAYERS][];
+        colBits = new long[START_PLAYERS][];
+        diagBits = new long[START_PLAYERS][];
+        antiBits = new long[START_PLAYERS][];
+    }
+
+    /**
+     * Parameterized constructor creates an object of the GameBoardBit class with a recorded game already played on it
+     *
+     * @param   r       represents the number of rows
+     * @param   c       represents the number of columns
+     * @param   t       represents the number of tokens
+     * @param   rows    the row of each move, in the order they were played
+     * @param   cols    the column of each move
+     * @param   players the player of each move
+     *
+     * @pre     MINNUM ≤ r ≤ MAX_BIT_SIZE
+     *          AND MINNUM ≤ c ≤ MAX_BIT_SIZE
+     *          AND MINNUM ≤ t ≤ MAXNUMTOKENS
+     *          AND t ≤ r
+     *          AND t ≤ c
+     *          AND rows.length = cols.length = players.length
+     *          AND [every move is on the board and different from the others] AND [no character in players is ' ']
+     *
+     * @post    self = [new GameBoardBit(r, c, t) after placeMarkers(rows, cols, players)]
+     */
+    public GameBoardBit(int r, int c, int t, int[] rows, int[] cols, char[] players) {
+        this(r, c, t);
+        placeMarkers(rows, cols, players);
+    }
+
+    /**
+     * Copy constructor creates an object of the GameBoardBit class with the same markers, move history and hash as another
+     *
+     * @param   other the board to copy
+     *
+     * @pre     NONE
+     *
+     * @post    self = other AND [changes to self do not change other]
+     */
+    private GameBoardBit(GameBoardBit other) {
+        numRows = other.numRows;
+        numColumns = other.numColumns;
+        numTokens = other.numTokens;
+        tokens = other.tokens.clone();
+        numPlayers = other.numPlayers;
+        numMarkers = other.numMarkers;
+        hash = other.hash;
+        moves = new MoveHistory(other.moves);
+        rowBits = new long[tokens.length][];
+        colBits = new long[tokens.length][];
+        diagBits = new long[tokens.length][];
+        antiBits = new long[tokens.length][];
+        for (int p = 0; p < numPlayers; p++) {
+            rowBits[p] = other.rowBits[p].clone();
+            colBits[p] = other.colBits[p].clone();
+            diagBits[p] = other.diagBits[p].clone();
+            antiBits[p] = other.antiBits[p].clone();
+        }
+    }
+
+    public int getNumRows() {
+        return numRows;
+    }
+
+
+    public int getNumColumns(){
+        return numColumns;
+    }
+
+
+    public int getNumToWin() {
+        return numTokens;
+    }
+
+
+    public char whatsAtPos(BoardPosition pos) {
+        long bit = 1L << pos.getColumn();
+        for (int p = 0; p < numPlayers; p++) {
+            if ((rowBits[p][pos.getRow()] & bit) != 0) {
+                return tokens[p];
+            }
+        }
+        return ' ';
+    }
+
+
+    public void placeMarker(BoardPosition marker, char player) {
+        int p = slotFor(player);
+        int r = marker.getRow();
+        int c = marker.getColumn();
+        rowBits[p][r] |= 1L << c;
+        colBits[p][c] |= 1L << r;
+        diagBits[p][r - c + numColumns - 1] |= 1L << c;
+        antiBits[p][r + c] |= 1L << c;
+        numMarkers++;
+        hash ^= Zobrist.key(r * numColumns + c, player);
+        moves.push(r * numColumns + c);
+    }
+
+
+    @Override
+    public void placeMarkers(int[] rows, int[] cols, char[] players) {
+        //set the bits directly and write the count and hash back once for the whole batch
+        long h = hash;
+        for (int i = 0; i < rows.length; i++) {
+            int p = slotFor(players[i]);
+            int r = rows[i];
+            int c = cols[i];
+            rowBits[p][r] |= 1L << c;
+            colBits[p][c] |= 1L << r;
+            diagBits[p][r - c + numColumns - 1] |= 1L << c;
+            antiBits[p][r + c] |= 1L << c;
+            h ^= Zobrist.key(r * numColumns + c, players[i]);
+            moves.push(r * numColumns + c);
+        }
+        hash = h;
+        numMarkers += rows.length;
+    }
+
+
+    public void removeMarker(BoardPosition marker) {
+        clear(marker.getRow(), marker.getColumn());
+        moves.remove(marker.getRow() * numColumns + marker.getColumn());
+    }
+
+
+    public BoardPosition undo() {
+        int index = moves.pop();
+        int r = index / numColumns;
+        int c = index % numColumns;
+        clear(r, c);
+        return BoardPosition.of(r, c);
+    }
+
+    public IGameBoard copy() {
+        return new GameBoardBit(this);
+    }
+
+    @Override
+    public int getNumMarkers() {
+        return numMarkers;
+    }
+
+    @Override
+    public long getZobristHash() {
+        return hash;
+    }
+
+    @Override
+    public boolean isPlayerAtPos(BoardPosition pos, char player) {
+        int p = indexOf(player);
+        if (p < 0) {
+            return false;
+        }
+        return (rowBits[p][pos.getRow()] & (1L << pos.getColumn())) != 0;
+    }
+
+    @Override
+    public boolean checkHorizontalWin(BoardPosition lastPos, char player) {
+        int p = indexOf(player);
+        if (p < 0) {
+            return false;
+        }
+        return runThrough(rowBits[p][lastPos.getRow()], lastPos.getColumn()) >= numTokens;
+    }
+
+    @Override
+    public boolean checkVerticalWin(BoardPosition lastPos, char player) {
+        int p = indexOf(player);
+        if (p < 0) {
+            return false;
+        }
+        return runThrough(colBits[p][lastPos.getColumn()], lastPos.getRow()) >= numTokens;
+    }
+
+    @Override
+    public boolean checkDiagonalWin(BoardPosition lastPos, char player) {
+        int p = indexOf(player);
+        if (p < 0) {
+            return false;
+        }
+        int r = lastPos.getRow();
+        int c = lastPos.getColumn();
+        if (runThrough(diagBits[p][r - c + numColumns - 1], c) >= numTokens) {
+            return true;
+        }
+        return runThrough(antiBits[p][r + c], c) >= numTokens;
+    }
+
+    /**
+     * This function clears a position from the bitboards of the player holding it
+     *
+     * @param   r the row of the position
+     * @param   c the column of the position
+     *
+     * @pre     0 ≤ r < numRows AND 0 ≤ c < numColumns AND [position [r][c] is set for some player]
+     *
+     * @post    [position [r][c] is not set for any player] AND numMarkers = #numMarkers - 1
+     *          AND hash = #hash XOR Zobrist.key(r * numColumns + c, [player that held position [r][c]])
+     */
+    private void clear(int r, int c) {
+        long bit = 1L << c;
+        int p = 0;
+        while ((rowBits[p][r] & bit) == 0) {
+            p++;
+        }
+        rowBits[p][r] &= ~bit;
+        colBits[p][c] &= ~(1L << r);
+        diagBits[p][r - c + numColumns - 1] &= ~bit;
+        antiBits[p][r + c] &= ~bit;
+        numMarkers--;
+        hash ^= Zobrist.key(r * numColumns + c, tokens[p]);
+    }
+
+    /**
+     * This function measures the run of set bits that passes through a bit of a line
+     *
+     * @param   line the packed word for one row, column or diagonal of a player
+     * @param   bit  the index of the bit the run must pass through
+     * @return  the number of consecutive set bits containing bit, or 0 if bit is not set
+     *
+     * @pre     0 ≤ bit < MAX_BIT_SIZE
+     *
+     * @post    runThrough = [length of the run of 1s in line that contains bit]
+     */
+    private static int runThrough(long line, int bit) {
+        if ((line & (1L << bit)) == 0) {
+            return 0;
+        }
+        //ones from bit upward plus ones from bit downward, bit itself counted twice
+        int up = Long.numberOfTrailingZeros(~(line >>> bit));
+        int down = Long.numberOfLeadingZeros(~(line << (MAX_BIT_SIZE - 1 - bit)));
+        return up + down - 1;
+    }
+
+    /**
+     * This function finds the slot a player's bitboards are stored in
+     *
+     * @param   player the player's character
+     * @return  the slot of player, or -1 if player has never placed a marker
+     *
+     * @pre     NONE
+     *
+     * @post    (indexOf = p iff tokens[p] = player AND 0 ≤ p < numPlayers) AND
+     *          (indexOf = -1 iff player is not in tokens) AND self = #self
+     */
+    private int indexOf(char player) {
+        for (int p = 0; p < numPlayers; p++) {
+            if (tokens[p] == player) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * This function finds the slot for a player, creating empty bitboards the first time the player is seen
+     *
+     * @param   player the player's character
+     * @return  the slot of player
+     *
+     * @pre     NONE
+     *
+     * @post    tokens[slotFor] = player AND self = #self
+     */
+    private int slotFor(char player) {
+        int p = indexOf(player);
+        if (p >= 0) {
+            return p;
+        }
+        if (numPlayers == tokens.length) {
+            int size = tokens.length * 2;
+            tokens = Arrays.copyOf(tokens, size);
+            rowBits = Arrays.copyOf(rowBits, size);
+            colBits = Arrays.copyOf(colBits, size);
+            diagBits = Arrays.copyOf(diagBits, size);
+            antiBits = Arrays.copyOf(antiBits, size);
+        }
+        p = numPlayers;
+        tokens[p] = player;
+        rowBits[p] = new long[numRows];
+        colBits[p] = new long[numColumns];
+        diagBits[p] = new long[numRows + numColumns - 1];
+        antiBits[p] = new long[numRows + numColumns - 1];
+        numPlayers++;
+        return p;
+    }
+}
@@ -0,0 +1,347 @@
+package cpsc2150.extendedTicTacToe.models;
+import java.util.Arrays;
+
+
+/**
+ * This class is used to implement IGameBoard with as little memory as a dense board can take. Every position
+ * is one byte in a single row-major array, holding 0 for ' ' or the player's number in a small token table,
+ * so a 20x20 board is one 400 byte array instead of 20 row arrays of 2 byte chars, and the win checks walk
+ * the board with plain index steps through memory that sits together. A full 20x20 board takes 1352 bytes:
+ * the 416 byte cell array, an 816 byte move history of 2 byte indexes, and the token table and object headers,
+ * against 5200 bytes for a GameBoard
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant cells.length = numRows * numColumns
+ *            AND 0 ≤ cells[i] ≤ numPlayers for every i
+ *            AND tokens[0] = ' ' AND 1 ≤ numPlayers + 1 ≤ tokens.length ≤ MAX_PLAYERS + 1
+ *            AND tokens[1...numPlayers] only stores characters specified by the user
+ *            AND MINNUM ≤ numRows ≤ MAXNUMROWS
+ *            AND MINNUM ≤ numColumns ≤ MAXNUMCOLUMNS
+ *            AND MINNUM ≤ numTokens ≤ MAXNUMTOKENS
+ *            AND numTokens ≤ numRows
+ *            AND numTokens ≤ numColumns
+ *            AND numMarkers = [number of i where cells[i] ≠ 0]
+ *            AND hash = [XOR of Zobrist.key(i, tokens[cells[i]]) over every i where cells[i] ≠ 0]
+ *            AND moves holds every i where cells[i] ≠ 0
+ *
+ * @correspondence NUMROWS = numRows AND
+ *                 NUMCOLUMNS = numColumns AND
+ *                 NUMTOKENS = numTokens AND
+ *                 self = [position [r][c] holds tokens[cells[r * numColumns + c]]]
+ */
+
+public class GameBoardCompact extends AbsGameBoard implements IGameBoard {
+    /**
+     * The most different players a board can hold, one for every positive byte
+     */
+    public static final int MAX_PLAYERS = Byte.MAX_VALUE;
+
+    private static final int START_PLAYERS = 10;
+
+    private static final int START_MOVES = 16;
+
+    private byte[] cells;
+    private char[] tokens;
+    private int numPlayers;
+    private int numRows;
+    private int numColumns;
+    private int numTokens;
+    private int numMarkers;
+    private MoveHistory moves;
+    private long hash;
+
+
+    /**
+     * Parameterized constructor creates an object of the GameBoardCompact class and inputs
+     *
+     * @param   r represents the number of rows
+     * @param   c represents the number of columns
+     * @param   t represents the number of tokens
+     *
+     * @pre     MINNUM ≤ r ≤ MAXNUMROWS
+     *          AND MINNUM ≤ c ≤ MAXNUMCOLUMNS
+     *          AND MINNUM ≤ t ≤ MAXNUMTOKENS
+     *          AND t ≤ r
+     *          AND t ≤ c
+     *
+     * @post    cells = new byte[r * c] of 0
+     *          AND object of GameBoardCompact class is created
+     *          AND tokens = [' '] AND numPlayers = 0
+     *          AND numRows = r
+     *          AND numColumns = c
+     *          AND numTokens = t
+     *          AND numMarkers = 0
+     *          AND hash = 0
+     *
+     */
+    public GameBoardCompact(int r, int c, int t){
+        numRows = r;
+        numColumns = c;
+        numTokens = t;
+        cells = new byte[numRows * numColumns];
+        tokens = new char[START_PLAYERS + 1];
+        tokens[0] = ' ';
+        numPlayers = 0;
+        numMarkers = 0;
+        hash = 0;
+        //the history grows with the game, 2 bytes a move, instead of reserving room for every position up front
+        moves = new MoveHistory(Math.min(START_MOVES, numRows * numColumns), numRows * numColumns);
+    }
+
+    /**
+     * Parameterized constructor creates an object of the GameBoardCompact class with a recorded game already played on it
+     *
+     * @param   r       represents the number of rows
+     * @param   c       represents the number of columns
+     * @param   t       represents the number of tokens
+     * @param   rows    the row of each move, in the order they were played
+     * @param   cols    the column of each move
+     * @param   players the player of each move
+     *
+     * @pre     MINNUM ≤ r ≤ MAXNUMROWS
+     *          AND MINNUM ≤ c ≤ MAXNUMCOLUMNS
+     *          AND MINNUM ≤ t ≤ MAXNUMTOKENS
+     *          AND t ≤ r
+     *          AND t ≤ c
+     *          AND rows.length = cols.length = players.length
+     *          AND [every move is on the board and different from the others] AND [no character in players is ' ']
+     *
+     * @post    self = [new GameBoardCompact(r, c, t) after placeMarkers(rows, cols, players)]
+     */
+    public GameBoardCompact(int r, int c, int t, int[] rows, int[] cols, char[] players) {
+        this(r, c, t);
+        placeMarkers(rows, cols, players);
+    }
+
+    /**
+     * Copy constructor creates an object of the GameBoardCompact class with the same markers, move history and hash as another
+     *
+     * @param   other the board to copy
+     *
+     * @pre     NONE
+     *
+     * @post    self = other AND [changes to self do not change other]
+     */
+    private GameBoardCompact(GameBoardCompact other) {
+        numRows = other.numRows;
+        numColumns = other.numColumns;
+        numTokens = other.numTokens;
+        cells = other.cells.clone();
+        tokens = other.tokens.clone();
+        numPlayers = other.numPlayers;
+        numMarkers = other.numMarkers;
+        hash = other.hash;
+        moves = new MoveHistory(other.moves);
+    }
+
+    public int getNumRows() {
+        return numRows;
+    }
+
+
+    public int getNumColumns(){
+        return numColumns;
+    }
+
+
+    public int getNumToWin() {
+        return numTokens;
+    }
+
+
+    public char whatsAtPos(BoardPosition pos) {
+        return tokens[cells[pos.getRow() * numColumns + pos.getColumn()]];
+    }
+
+
+    public void placeMarker(BoardPosition marker, char player) {
+        int index = marker.getRow() * numColumns + marker.getColumn();
+        cells[index] = (byte) slotFor(player);
+        numMarkers++;
+        hash ^= Zobrist.key(index, player);
+        moves.push(index);
+    }
+
+
+    @Override
+    public void placeMarkers(int[] rows, int[] cols, char[] players) {
+        //write the cells directly and the count and hash back once for the whole batch
+        long h = hash;
+        for (int i = 0; i < rows.length; i++) {
+            int index = rows[i] * numColumns + cols[i];
+            cells[index] = (byte) slotFor(players[i]);
+            h ^= Zobrist.key(index, players[i]);
+            moves.push(index);
+        }
+        hash = h;
+        numMarkers += rows.length;
+    }
+
+
+    public void removeMarker(BoardPosition marker) {
+        int index = marker.getRow() * numColumns + marker.getColumn();
+        clear(index);
+        moves.remove(index);
+    }
+
+
+    public BoardPosition undo() {
+        int index = moves.pop();
+        clear(index);
+        return BoardPosition.of(index / numColumns, index % numColumns);
+    }
+
+    public IGameBoard copy() {
+        return new GameBoardCompact(this);
+    }
+
+    @Override
+    public int getNumMarkers() {
+        return numMarkers;
+    }
+
+    @Override
+    public long getZobristHash() {
+        return hash;
+    }
+
+    @Override
+    public boolean checkSpace(BoardPosition pos) {
+        int r = pos.getRow();
+        int c = pos.getColumn();
+        return r >= 0 && r < numRows && c >= 0 && c < numColumns && cells[r * numColumns + c] == 0;
+    }
+
+    @Override
+    public boolean isPlayerAtPos(BoardPosition pos, char player) {
+        return whatsAtPos(pos) == player;
+    }
+
+    @Override
+    public boolean checkHorizontalWin(BoardPosition lastPos, char player) {
+        int p = indexOf(player);
+        if (p < 0) {
+            return false;
+        }
+        return runThrough(lastPos.getRow(), lastPos.getColumn(), 0, 1, p) >= numTokens;
+    }
+
+    @Override
+    public boolean checkVerticalWin(BoardPosition lastPos, char player) {
+        int p = indexOf(player);
+        if (p < 0) {
+            return false;
+        }
+        return runThrough(lastPos.getRow(), lastPos.getColumn(), 1, 0, p) >= numTokens;
+    }
+
+    @Override
+    public boolean checkDiagonalWin(BoardPosition lastPos, char player) {
+        int p = indexOf(player);
+        if (p < 0) {
+            return false;
+        }
+        if (runThrough(lastPos.getRow(), lastPos.getColumn(), 1, 1, p) >= numTokens) {
+            return true;
+        }
+        return runThrough(lastPos.getRow(), lastPos.getColumn(), 1, -1, p) >= numTokens;
+    }
+
+    /**
+     * This function clears a position
+     *
+     * @param   index the row-major index of the position
+     *
+     * @pre     0 ≤ index < cells.length AND cells[index] ≠ 0
+     *
+     * @post    cells[index] = 0 AND numMarkers = #numMarkers - 1
+     *          AND hash = #hash XOR Zobrist.key(index, tokens[#cells[index]])
+     */
+    private void clear(int index) {
+        hash ^= Zobrist.key(index, tokens[cells[index]]);
+        cells[index] = 0;
+        numMarkers--;
+    }
+
+    /**
+     * This function measures the run of one player's markers through a position along a direction
+     *
+     * @param   r  the row of the position
+     * @param   c  the column of the position
+     * @param   dr the change in row for each step along the direction
+     * @param   dc the change in column for each step along the direction
+     * @param   p  the player's number in tokens
+     * @return  the number of consecutive positions holding p along the line through [r][c],
+     *          or 0 if [r][c] does not hold p
+     *
+     * @pre     0 ≤ r < numRows AND 0 ≤ c < numColumns AND 0 ≤ dr ≤ 1 AND -1 ≤ dc ≤ 1
+     *
+     * @post    self = #self
+     */
+    private int runThrough(int r, int c, int dr, int dc, int p) {
+        int step = dr * numColumns + dc;
+        int index = r * numColumns + c;
+        if (cells[index] != p) {
+            return 0;
+        }
+        int run = 1;
+        //forward until the edge of the board or another marker
+        int i = index + step;
+        for (int rr = r + dr, cc = c + dc; rr < numRows && cc >= 0 && cc < numColumns && cells[i] == p;
+             rr += dr, cc += dc, i += step) {
+            run++;
+        }
+        //then backward the same way
+        i = index - step;
+        for (int rr = r - dr, cc = c - dc; rr >= 0 && cc >= 0 && cc < numColumns && cells[i] == p;
+             rr -= dr, cc -= dc, i -= step) {
+            run++;
+        }
+        return run;
+    }
+
+    /**
+     * This function finds a player's number in the token table
+     *
+     * @param   player the player's character
+     * @return  the number of player, or -1 if player has never placed a marker
+     *
+     * @pre     NONE
+     *
+     * @post    (indexOf = p iff tokens[p] = player AND 1 ≤ p ≤ numPlayers) AND
+     *          (indexOf = -1 iff player is not in tokens[1...numPlayers]) AND self = #self
+     */
+    private int indexOf(char player) {
+        for (int p = 1; p <= numPlayers; p++) {
+            if (tokens[p] == player) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * This function finds the number for a player, adding the player to the token table the first time they are seen
+     *
+     * @param   player the player's character
+     * @return  the number of player
+     *
+     * @pre     player ≠ ' ' AND (player is in tokens OR numPlayers < MAX_PLAYERS)
+     *
+     * @post    tokens[slotFor] = player AND 1 ≤ slotFor ≤ numPlayers AND self = #self
+     */
+    private int slotFor(char player) {
+        int p = indexOf(player);
+        if (p >= 0) {
+            return p;
+        }
+        if (numPlayers + 1 == tokens.length) {
+            tokens = Arrays.copyOf(tokens, Math.min(tokens.length * 2, MAX_PLAYERS + 1));
+        }
+        numPlayers++;
+        tokens[numPlayers] = player;
+        return numPlayers;
+    }
+}
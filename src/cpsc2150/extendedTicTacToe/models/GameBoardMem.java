@@ -1,15 +1,20 @@
 package cpsc2150.extendedTicTacToe.models;
-import java.util.*;
 
 
 /**
  * This class is used to implement IGameBoard
+ * It only stores the positions that have been played, in an open addressing hash table keyed by
+ * the row-major index of the position, so lookups stay constant time however many moves are made
  *
  * @author Sumanth Pandiri
  * @version 1.0
  *
- * @invariant board is a hash map from character to board position, and
- *            it only stores characters specified by the user or ' '
+ * @invariant board is a hash table from position index to character, and
+ *            it only stores characters specified by the user
+ *            AND keys.length = values.length AND keys.length is a power of 2
+ *            AND 0 ≤ size ≤ keys.length / 2
+ *            AND hash = [XOR of Zobrist.key(keys[i] - 1, values[i]) over every key stored in keys]
+ *            AND moves holds key - 1 for every key stored in keys
  *            AND MINNUM ≤ numRows ≤ MAXNUMROWS
  *            AND MINNUM ≤ numColumns ≤ MAXNUMCOLUMNS
  *            AND MINNUM ≤ numTokens ≤ MAXNUMTOKENS
@@ -19,11 +24,18 @@ import java.util.*;
  * @correspondence NUMROWS = numRows AND
  *                 NUMCOLUMNS = numColumns AND
  *                 NUMTOKENS = numTokens AND
- *                 self = HashMap<Character, List<BoardPosition>>
+ *                 self = [position [r][c] holds values[i] where keys[i] = r * numColumns + c + 1,
+ *                 and ' ' if no such i exists]
  */
 
 public class GameBoardMem extends AbsGameBoard implements IGameBoard {
-    private Map<Character, List<BoardPosition>> myMap;
+    private static final int START_CAPACITY = 16;
+
+    private int[] keys;
+    private char[] values;
+    private int size;
+    private MoveHistory moves;
+    private long hash;
     private int numRows;
     private int numColumns;
     private int numTokens;
@@ -43,9 +55,10 @@ public class GameBoardMem extends AbsGameBoard implements IGameBoard {
      *          AND t ≤ r
      *          AND t ≤ c
      *
-     * @post    board = new HashMap<Character, List<BoardPosition>>()
+     * @post    board = new empty hash table of START_CAPACITY slots
      *          AND object of GameBoardMem class is created
      *          AND board is empty
+     *          AND hash = 0
      *          AND numRows = r
      *          AND numColumns = c
      *          AND numTokens = t
@@ -55,8 +68,74 @@ public class GameBoardMem extends AbsGameBoard implements IGameBoard {
         numRows = r;
         numColumns = c;
         numTokens = t;
-        myMap = new HashMap<Character, List<BoardPosition>>();
+        keys = new int[START_CAPACITY];
+        values = new char[START_CAPACITY];
+        size = 0;
+        hash = 0;
+        moves = new MoveHistory(Math.min(START_CAPACITY, numRows * numColumns), numRows * numColumns);
+    }
+
+    /**
+     * Parameterized constructor creates an object of the GameBoardMem class with a recorded game already played on it
+     *
+     * @param   r       represents the number of rows
+     * @param   c       represents the number of columns
+     * @param   t       represents the number of tokens
+     * @param   rows    the row of each move, in the order they were played
+     * @param   cols    the column of each move
+     * @param   players the player of each move
+     *
+     * @pre     MINNUM ≤ r ≤ MAXNUMROWS
+     *          AND MINNUM ≤ c ≤ MAXNUMCOLUMNS
+     *          AND MINNUM ≤ t ≤ MAXNUMTOKENS
+     *          AND t ≤ r
+     *          AND t ≤ c
+     *          AND rows.length = cols.length = players.length
+     *          AND [every move is on the board and different from the others] AND [no character in players is ' ']
+     *
+     * @post    self = [new GameBoardMem(r, c, t) after placeMarkers(rows, cols, players)]
+     */
+    public GameBoardMem(int r, int c, int t, int[] rows, int[] cols, char[] players) {
+        this(r, c, t);
+        placeMarkers(rows, cols, players);
+    }
+
+    /**
+     * Copy constructor creates an object of the GameBoardMem class with the same markers, move history and hash as another
+     *
+     * @param   other the board to copy
+     *
+     * @pre     NONE
+     *
+     * @post    self = other AND [changes to self do not change other]
+     */
+    private GameBoardMem(GameBoardMem other) {
+        numRows = other.numRows;
+        numColumns = other.numColumns;
+        numTokens = other.numTokens;
+        keys = other.keys.clone();
+        values = other.values.clone();
+        size = other.size;
+        hash = other.hash;
+        moves = new MoveHistory(other.moves);
+    }
 
+    /**
+     * This function creates a board from the encoding written by toFen. The markers are placed row by row,
+     * since the encoding does not keep the order they were played in
+     *
+     * @param   fen the encoding of the board
+     * @return  a new GameBoardMem holding the board fen describes
+     *
+     * @pre     [the size and number to win in fen meet the preconditions of the GameBoardMem constructor]
+     *
+     * @post    fromFen.toFen() = fen
+     *
+     * @throws  IllegalArgumentException if fen is not a valid encoding
+     */
+    public static GameBoardMem fromFen(String fen) {
+        BoardFen board = BoardFen.parse(fen);
+        return new GameBoardMem(board.numRows, board.numColumns, board.numToWin, board.rows, board.cols, board.players);
     }
 
     public int getNumRows() {
@@ -75,12 +154,11 @@ public class GameBoardMem extends AbsGameBoard implements IGameBoard {
 
 
     public char whatsAtPos(BoardPosition pos) {
-        char player;
-        for (Map.Entry<Character, List<BoardPosition>> entry : myMap.entrySet()) {
-            char key = entry.getKey();
-            List<BoardPosition> value = entry.getValue();
-            if (value.contains(pos)) {
-                return key;
+        int key = pos.getRow() * numColumns + pos.getColumn() + 1;
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
             }
         }
         return ' ';
@@ -88,25 +166,157 @@ public class GameBoardMem extends AbsGameBoard implements IGameBoard {
 
 
     public void placeMarker(BoardPosition marker, char player) {
-        if (myMap.containsKey(player)) {
-            List<BoardPosition> newList = myMap.get(player);
-            newList.add(marker);
-            myMap.put(player, newList);
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        insert(marker.getRow() * numColumns + marker.getColumn() + 1, player);
+        size++;
+        hash ^= Zobrist.key(marker.getRow() * numColumns + marker.getColumn(), player);
+        moves.push(marker.getRow() * numColumns + marker.getColumn());
+    }
+
+
+    @Override
+    public void placeMarkers(int[] rows, int[] cols, char[] players) {
+        //grow the table once for the whole batch instead of doubling along the way
+        int capacity = keys.length;
+        while ((size + rows.length) * 2 > capacity) {
+            capacity *= 2;
+        }
+        if (capacity != keys.length) {
+            resize(capacity);
         }
-        else {
-            List<BoardPosition> newList = new ArrayList<BoardPosition>();
-            newList.add(marker);
-            myMap.put(player, newList);
+        for (int i = 0; i < rows.length; i++) {
+            int index = rows[i] * numColumns + cols[i];
+            insert(index + 1, players[i]);
+            hash ^= Zobrist.key(index, players[i]);
+            moves.push(index);
         }
+        size += rows.length;
+    }
+
+
+    public void removeMarker(BoardPosition marker) {
+        int index = marker.getRow() * numColumns + marker.getColumn();
+        hash ^= Zobrist.key(index, delete(index + 1));
+        size--;
+        moves.remove(index);
+    }
+
+
+    public BoardPosition undo() {
+        int index = moves.pop();
+        hash ^= Zobrist.key(index, delete(index + 1));
+        size--;
+        return BoardPosition.of(index / numColumns, index % numColumns);
+    }
+
+    public IGameBoard copy() {
+        return new GameBoardMem(this);
+    }
+
+    @Override
+    public int getNumMarkers() {
+        return size;
+    }
+
+    @Override
+    public long getZobristHash() {
+        return hash;
     }
 
     @Override
     public boolean isPlayerAtPos(BoardPosition pos, char player) {
-        if (myMap.containsKey(player)) {
-            if (myMap.get(player).contains(pos)) {
-                return true;
+        return whatsAtPos(pos) == player;
+    }
+
+    /**
+     * This function finds the home slot of a key in a table
+     *
+     * @param   key  the position index plus 1
+     * @param   mask the table length minus 1
+     * @return  the slot probing starts from
+     *
+     * @pre     key > 0 AND mask + 1 is a power of 2
+     *
+     * @post    0 ≤ slot ≤ mask
+     */
+    private static int slot(int key, int mask) {
+        //fibonacci hashing spreads neighboring positions across the table
+        return (key * 0x9E3779B9 >>> 16) & mask;
+    }
+
+    /**
+     * This function stores a key in the first free slot of its probe sequence
+     *
+     * @param   key    the position index plus 1
+     * @param   player the character to store for key
+     *
+     * @pre     key > 0 AND key is not in keys AND [keys has a free slot]
+     *
+     * @post    [keys contains key with values holding player at the same slot]
+     */
+    private void insert(int key, char player) {
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (keys[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = player;
+    }
+
+    /**
+     * This function removes a key from the table, shifting later entries of its probe run back
+     * so no tombstones are left behind
+     *
+     * @param   key the position index plus 1
+     * @return  the character that was stored for key
+     *
+     * @pre     key is in keys
+     *
+     * @post    [keys does not contain key] AND [every other entry is still reachable from its home slot]
+     */
+    private char delete(int key) {
+        int mask = keys.length - 1;
+        int hole = slot(key, mask);
+        while (keys[hole] != key) {
+            hole = (hole + 1) & mask;
+        }
+        char player = values[hole];
+        keys[hole] = 0;
+
+        //fill the hole with any later entry whose home slot is at or before it
+        for (int i = (hole + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            int home = slot(keys[i], mask);
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                keys[i] = 0;
+                hole = i;
+            }
+        }
+        return player;
+    }
+
+    /**
+     * This function moves every entry into a new table with a different number of slots
+     *
+     * @param   capacity the number of slots in the new table
+     *
+     * @pre     capacity is a power of 2 AND capacity > size
+     *
+     * @post    keys.length = capacity AND [self is unchanged]
+     */
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        char[] oldValues = values;
+        keys = new int[capacity];
+        values = new char[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                insert(oldKeys[i], oldValues[i]);
             }
         }
-        return false;
     }
 }
@@ -0,0 +1,241 @@
+package cpsc2150.extendedTicTacToe.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * This class runs a game of extended tic-tac-toe on an IGameBoard without any user interface
+ * It keeps track of whose turn it is, places each move for the current player, and checks for a win
+ * or a draw after every move, so the same rules drive the Swing game, simulations and benchmarks.
+ * Anything that shows the game, like the Swing controller, registers an IGameListener to hear about moves
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant 2 ≤ players.length
+ *            AND 0 ≤ curSeat < players.length
+ *            AND (winner ≠ NO_WINNER implies gameOver)
+ *            AND numMoves = [number of markers placed through playMove]
+ *
+ * @correspondence self = [board, the seat whose turn it is, and the result once gameOver]
+ *                 AND listeners = [the listeners told about every move, in the order they were added]
+ */
+public class GameEngine {
+    /**
+     * The winner reported while the game is still going or after a draw
+     */
+    public static final char NO_WINNER = ' ';
+
+    private final IGameBoard board;
+    private final char[] players;
+    private final boolean earlyDraw;
+    private int curSeat;
+    private int numMoves;
+    private boolean gameOver;
+    private char winner;
+    private final List<IGameListener> listeners;
+
+    /**
+     * Parameterized constructor creates a game on a board, with the first player to move
+     *
+     * @param   b     the board to play on
+     * @param   p     the character of each seat, in the order the seats take turns
+     * @param   early whether the game is a draw as soon as nobody can win instead of when the board is full
+     *
+     * @pre     p.length ≥ 2 AND [b has no markers] AND [characters in p are unique and not ' ']
+     *
+     * @post    board = b AND players = p AND earlyDraw = early AND curSeat = 0 AND numMoves = 0
+     *          AND gameOver = false AND winner = NO_WINNER AND listeners = []
+     */
+    public GameEngine(IGameBoard b, char[] p, boolean early) {
+        board = b;
+        players = p.clone();
+        earlyDraw = early;
+        curSeat = 0;
+        numMoves = 0;
+        gameOver = false;
+        winner = NO_WINNER;
+        listeners = new ArrayList<>();
+    }
+
+    /**
+     * This function registers a listener to be told about every move from now on
+     *
+     * @param   listener the listener to add
+     *
+     * @pre     listener ≠ null
+     *
+     * @post    listeners = #listeners o [listener]
+     */
+    public void addListener(IGameListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * This function stops telling a listener about moves
+     *
+     * @param   listener the listener to remove
+     *
+     * @pre     NONE
+     *
+     * @post    listeners = #listeners without listener
+     */
+    public void removeListener(IGameListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * This function returns the board the game is played on
+     *
+     * @return  the board
+     *
+     * @pre     NONE
+     *
+     * @post    getBoard = board AND self = #self
+     */
+    public IGameBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * This function returns the character of every seat
+     *
+     * @return  a copy of the players, in the order they take turns
+     *
+     * @pre     NONE
+     *
+     * @post    getPlayers = players AND self = #self
+     */
+    public char[] getPlayers() {
+        return Arrays.copyOf(players, players.length);
+    }
+
+    /**
+     * This function returns the seat whose turn it is
+     *
+     * @return  the index in players of the seat to move
+     *
+     * @pre     NONE
+     *
+     * @post    getCurrentSeat = curSeat AND self = #self
+     */
+    public int getCurrentSeat() {
+        return curSeat;
+    }
+
+    /**
+     * This function returns the character of the player whose turn it is
+     *
+     * @return  the current player's character
+     *
+     * @pre     NONE
+     *
+     * @post    getCurrentPlayer = players[curSeat] AND self = #self
+     */
+    public char getCurrentPlayer() {
+        return players[curSeat];
+    }
+
+    /**
+     * This function returns the number of moves played so far
+     *
+     * @return  the number of moves
+     *
+     * @pre     NONE
+     *
+     * @post    getNumMoves = numMoves AND self = #self
+     */
+    public int getNumMoves() {
+        return numMoves;
+    }
+
+    /**
+     * This function reports if the game has ended
+     *
+     * @return  True if someone has won or the game is a draw
+     *
+     * @pre     NONE
+     *
+     * @post    isGameOver = gameOver AND self = #self
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * This function returns the winner of the game
+     *
+     * @return  the winning player's character, or NO_WINNER if the game is still going or is a draw
+     *
+     * @pre     NONE
+     *
+     * @post    getWinner = winner AND self = #self
+     */
+    public char getWinner() {
+        return winner;
+    }
+
+    /**
+     * This function reports if the game ended in a draw
+     *
+     * @return  True if the game is over without a winner
+     *
+     * @pre     NONE
+     *
+     * @post    isDraw = (gameOver AND winner = NO_WINNER) AND self = #self
+     */
+    public boolean isDraw() {
+        return gameOver && winner == NO_WINNER;
+    }
+
+    /**
+     * This function places the current player's marker and moves on to the next turn
+     *
+     * @param   pos the position to place the marker on
+     * @return  True if the move was played and False if the game is over or the position is unavailable
+     *
+     * @pre     NONE
+     *
+     * @post    (playMove = True iff #gameOver = false AND #board.checkSpace(pos)) AND
+     *          (playMove = True implies [board has players[#curSeat] at pos] AND numMoves = #numMoves + 1 AND
+     *          (gameOver = True iff the move won or drew the game) AND
+     *          (winner = players[#curSeat] iff the move won the game) AND
+     *          (curSeat = (#curSeat + 1) mod players.length iff gameOver = false) AND
+     *          [listeners were told about the move and then the win, draw or new turn]) AND
+     *          (playMove = False implies self = #self)
+     */
+    public boolean playMove(BoardPosition pos) {
+        if (gameOver || !board.checkSpace(pos)) {
+            return false;
+        }
+        char player = players[curSeat];
+        board.placeMarker(pos, player);
+        numMoves++;
+        for (IGameListener listener : listeners) {
+            listener.markerPlaced(pos, player);
+        }
+
+        if (board.checkForWinner(pos)) {
+            winner = player;
+            gameOver = true;
+            for (IGameListener listener : listeners) {
+                listener.gameWon(player);
+            }
+        }
+        else if (board.checkForDraw() || (earlyDraw && board.checkForEarlyDraw())) {
+            gameOver = true;
+            for (IGameListener listener : listeners) {
+                listener.gameDrawn();
+            }
+        }
+        else {
+            curSeat = (curSeat + 1) % players.length;
+            for (IGameListener listener : listeners) {
+                listener.turnChanged(players[curSeat]);
+            }
+        }
+        return true;
+    }
+}
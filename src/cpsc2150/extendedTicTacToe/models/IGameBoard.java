@@ -74,6 +74,44 @@ public interface IGameBoard {
      */
     public void placeMarker(BoardPosition marker, char player);
 
+    /**
+     * This function removes the marker at the position specified, leaving the position empty
+     *
+     * @param   marker the board position object representing the position of the marker being removed
+     *
+     * @pre     0 ≤ marker.getRow() < NUMROWS AND 0 ≤ marker.getColumn() < NUMCOLUMNS AND
+     *          whatsAtPos(marker) ≠ ' '
+     *
+     * @post    self at position [marker.getRow()][marker.getColumn()] = ' ' AND
+     *          [rest of self remains constant]
+     */
+    public void removeMarker(BoardPosition marker);
+
+    /**
+     * This function takes back the most recent marker placed that has not already been removed
+     *
+     * @return  the position of the marker that was removed
+     *
+     * @pre     getNumMarkers() > 0
+     *
+     * @post    [undo is the position of the latest placeMarker call whose marker is still in #self] AND
+     *          self at position [undo.getRow()][undo.getColumn()] = ' ' AND
+     *          [rest of self remains constant]
+     */
+    public BoardPosition undo();
+
+    /**
+     * This function makes an independent copy of the board, so it can be searched or changed
+     * on another thread without touching this one
+     *
+     * @return  a board of the same class with the same markers and move history
+     *
+     * @pre     NONE
+     *
+     * @post    copy = #self AND [changes to copy do not change self] AND self = #self
+     */
+    public IGameBoard copy();
+
     /**
      * Function checks to see if the space is available to place a marker
      *
@@ -119,6 +157,78 @@ public interface IGameBoard {
         return false;
     }
 
+    /**
+     * This function places a list of markers in order, as if placeMarker were called for each one.
+     * Nothing is checked between the moves, so a recorded game can be rebuilt in one call
+     * and checked once with findWinner
+     *
+     * @param   rows    the row of each marker
+     * @param   cols    the column of each marker
+     * @param   players the player of each marker
+     *
+     * @pre     rows.length = cols.length = players.length AND
+     *          [every position is on the board, available in #self and different from the others] AND
+     *          [no character in players is ' ']
+     *
+     * @post    self = [#self after placeMarker(BoardPosition.of(rows[i], cols[i]), players[i])
+     *          for each i from 0 to rows.length - 1]
+     */
+    default void placeMarkers(int[] rows, int[] cols, char[] players) {
+        for (int i = 0; i < rows.length; i++) {
+            placeMarker(BoardPosition.of(rows[i], cols[i]), players[i]);
+        }
+    }
+
+    /**
+     * This function looks for a winning run anywhere on the board in a single pass, without needing to know
+     * the last move
+     *
+     * @return  the player with getNumToWin() markers in a row, or ' ' if there is none
+     *
+     * @pre     NONE
+     *
+     * @post    (findWinner ≠ ' ' iff some horizontal, vertical or diagonal run of getNumToWin() positions in #self
+     *          all hold findWinner) AND
+     *          [if more than one player has such a run, findWinner is the player of the first one found
+     *          going row by row] AND
+     *          self = #self
+     */
+    default char findWinner() {
+        int maxRow = getNumRows();
+        int maxColumn = getNumColumns();
+        int win = getNumToWin();
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+        for (int r = 0; r < maxRow; r++) {
+            for (int c = 0; c < maxColumn; c++) {
+                char player = whatsAtPos(BoardPosition.of(r, c));
+                if (player == ' ') {
+                    continue;
+                }
+                for (int[] d : directions) {
+                    //only count from the first position of each run, so every run is counted once
+                    int rr = r - d[0];
+                    int cc = c - d[1];
+                    if (rr >= 0 && cc >= 0 && cc < maxColumn && whatsAtPos(BoardPosition.of(rr, cc)) == player) {
+                        continue;
+                    }
+                    int total = 1;
+                    rr = r + d[0];
+                    cc = c + d[1];
+                    while (rr < maxRow && cc >= 0 && cc < maxColumn && whatsAtPos(BoardPosition.of(rr, cc)) == player) {
+                        total++;
+                        rr += d[0];
+                        cc += d[1];
+                    }
+                    if (total >= win) {
+                        return player;
+                    }
+                }
+            }
+        }
+        return ' ';
+    }
+
     /**
      * This function checks to see if there is a winner after the last move
      *
@@ -171,7 +281,7 @@ public interface IGameBoard {
         //goes through the left side of row checking for a win
         while (checkPlace && c > 0) {
             c--;
-            BoardPosition check = new BoardPosition(r, c);
+            BoardPosition check = BoardPosition.of(r, c);
             if (isPlayerAtPos(check, player)) {
                 total++;
             }
@@ -185,7 +295,7 @@ public interface IGameBoard {
         c = lastPos.getColumn();
         while (checkPlace && c < maxColumn) {
             c++;
-            BoardPosition check = new BoardPosition(r, c);
+            BoardPosition check = BoardPosition.of(r, c);
             if (isPlayerAtPos(check, player)) {
                 total++;
             }
@@ -226,7 +336,7 @@ public interface IGameBoard {
         //sifts through the top of column to check for a win
         while (checkPlace && r > 0) {
             r--;
-            BoardPosition check = new BoardPosition(r, c);
+            BoardPosition check = BoardPosition.of(r, c);
             if (isPlayerAtPos(check, player)) {
                 total++;
             }
@@ -240,7 +350,7 @@ public interface IGameBoard {
         r = lastPos.getRow();
         while (checkPlace && r < maxRow) {
             r++;
-            BoardPosition check = new BoardPosition(r, c);
+            BoardPosition check = BoardPosition.of(r, c);
             if (isPlayerAtPos(check, player)) {
                 total++;
             }
@@ -287,7 +397,7 @@ public interface IGameBoard {
         //checks top left diagonal
         while (checkSpot && (minPos <= rCheck) && (rCheck <= maxRow) && (minPos <= cCheck) && (cCheck <= maxColumn)) {
 
-            BoardPosition checkP = new BoardPosition(rCheck, cCheck);
+            BoardPosition checkP = BoardPosition.of(rCheck, cCheck);
             if (isPlayerAtPos(checkP, player)) {
                 total++;
             }
@@ -304,7 +414,7 @@ public interface IGameBoard {
         cCheck = c;
         //checks bottom right diagonal
         while (checkSpot && (minPos <= rCheck) && (rCheck <= maxRow) && (minPos <= cCheck) && (cCheck <= maxColumn)) {
-            BoardPosition checkP = new BoardPosition(rCheck, cCheck);
+            BoardPosition checkP = BoardPosition.of(rCheck, cCheck);
             if (isPlayerAtPos(checkP, player)) {
                 total++;
             }
@@ -325,7 +435,7 @@ public interface IGameBoard {
         cCheck = c;
         //checks top right diagonal
         while (checkSpot && (minPos <= rCheck) && (rCheck <= maxRow) && (minPos <= cCheck) && (cCheck <= maxColumn)) {
-            BoardPosition checkP = new BoardPosition(rCheck, cCheck);
+            BoardPosition checkP = BoardPosition.of(rCheck, cCheck);
             if (isPlayerAtPos(checkP, player)) {
                 total++;
             }
@@ -342,7 +452,7 @@ public interface IGameBoard {
         cCheck = c;
         //checks bottom left diagonal
         while (checkSpot && (minPos <= rCheck) && (rCheck <= maxRow) && (minPos <= cCheck) && (cCheck <= maxColumn)) {
-            BoardPosition checkP = new BoardPosition(rCheck, cCheck);
+            BoardPosition checkP = BoardPosition.of(rCheck, cCheck);
             if (isPlayerAtPos(checkP, player)) {
                 total++;
             }
@@ -359,8 +469,56 @@ public interface IGameBoard {
         return false;
     }
 
+    /**
+     * This function counts the markers that have been placed on the board
+     *
+     * @return  the number of positions in the board that are not ' '
+     *
+     * @pre     NONE
+     *
+     * @post    getNumMarkers = [number of positions in #self where checkSpace() = False] AND
+     *          self = #self
+     */
+    default int getNumMarkers() {
+        int total = 0;
+        for (int i = 0; i < getNumRows(); i++) {
+            for (int j = 0; j < getNumColumns(); j++) {
+                BoardPosition check = BoardPosition.of(i, j);
+                if (!checkSpace(check)) {
+                    total++;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * This function hashes the markers on the board, so equal boards can be found without comparing every position
+     * It is constant time for implementations that update the hash in placeMarker, removeMarker and undo
+     *
+     * @return  the Zobrist hash of the board
+     *
+     * @pre     NONE
+     *
+     * @post    getZobristHash = [XOR of Zobrist.key(r * NUMCOLUMNS + c, whatsAtPos(r, c)) over every position
+     *          [r][c] of #self that is not ' '] AND self = #self
+     */
+    default long getZobristHash() {
+        long hash = 0;
+        for (int i = 0; i < getNumRows(); i++) {
+            for (int j = 0; j < getNumColumns(); j++) {
+                char player = whatsAtPos(BoardPosition.of(i, j));
+                if (player != ' ') {
+                    hash ^= Zobrist.key(i * getNumColumns() + j, player);
+                }
+            }
+        }
+        return hash;
+    }
+
     /**
      * This function checks for a draw
+     * It is constant time for implementations that keep a running count in getNumMarkers()
      *
      * @return  True if the game is tied and False if the game is not tied
      *
@@ -371,14 +529,84 @@ public interface IGameBoard {
      *          self = #self
      */
     default boolean checkForDraw() {
-        for (int i = 0; i < getNumRows(); i++) {
-            for (int j = 0; j < getNumColumns(); j++) {
-                BoardPosition check = new BoardPosition(i, j);
-                if (checkSpace(check)) {
-                    return false;
-                }
+        return getNumMarkers() == getNumRows() * getNumColumns();
+    }
+
+    /**
+     * This function checks for a draw before the board is full, by looking for any run of
+     * getNumToWin() positions that a single player could still complete
+     *
+     * @return  True if no player can win anymore and False if some player still can
+     *
+     * @pre     The game hasn't ended yet
+     *
+     * @post    (checkForEarlyDraw = True iff every getNumToWin() long horizontal, vertical or diagonal
+     *          run of positions in #self holds markers of at least two different players) AND
+     *          (checkForEarlyDraw = False iff some such run only holds ' ' or markers of one player) AND
+     *          self = #self
+     */
+    default boolean checkForEarlyDraw() {
+        int maxRow = getNumRows() - 1;
+        int maxColumn = getNumColumns() - 1;
+
+        //every line starts on the top row or on the left or right column
+        for (int r = 0; r <= maxRow; r++) {
+            if (checkLineOpen(r, 0, 0, 1) || checkLineOpen(r, 0, 1, 1) ||
+                    checkLineOpen(r, maxColumn, 1, -1)) {
+                return false;
+            }
+        }
+        for (int c = 0; c <= maxColumn; c++) {
+            if (checkLineOpen(0, c, 1, 0)) {
+                return false;
+            }
+            if (c > 0 && checkLineOpen(0, c, 1, 1)) {
+                return false;
+            }
+            if (c < maxColumn && checkLineOpen(0, c, 1, -1)) {
+                return false;
             }
         }
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * This function checks if a line still has room for a win
+     *
+     * @param   r  the row the line starts on
+     * @param   c  the column the line starts on
+     * @param   dr the change in row for each step along the line
+     * @param   dc the change in column for each step along the line
+     * @return  True if some getNumToWin() long run of the line only holds ' ' or one player's markers
+     *
+     * @pre     0 ≤ r < getNumRows() AND 0 ≤ c < getNumColumns()
+     *
+     * @post    self = #self
+     */
+    private boolean checkLineOpen(int r, int c, int dr, int dc) {
+        int win = getNumToWin();
+        char last = ' ';
+        int lastStep = -1;
+        //the latest step holding a marker that is followed by a different player's marker
+        int blocked = -1;
+        int step = 0;
+
+        while (0 <= r && r < getNumRows() && 0 <= c && c < getNumColumns()) {
+            char player = whatsAtPos(BoardPosition.of(r, c));
+            if (player != ' ') {
+                if (lastStep >= 0 && player != last) {
+                    blocked = lastStep;
+                }
+                last = player;
+                lastStep = step;
+            }
+            if (step >= win - 1 && blocked < step - win + 1) {
+                return true;
+            }
+            r += dr;
+            c += dc;
+            step++;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+package cpsc2150.extendedTicTacToe.models;
+
+/**
+ *  This is the interface for objects that follow a game run by a GameEngine
+ *  The engine calls these methods after each move, in the order the changes happened
+ *
+ * @defines NONE
+ *
+ * @constraints [the listener must not play moves on the engine from inside these methods]
+ */
+public interface IGameListener {
+
+    /**
+     * This function is called after a marker is placed
+     *
+     * @param   pos    the position the marker was placed on
+     * @param   player the character of the player that placed it
+     *
+     * @pre     [engine's board has player at pos]
+     *
+     * @post    [the listener has seen the move]
+     */
+    public void markerPlaced(BoardPosition pos, char player);
+
+    /**
+     * This function is called when the game goes on to the next player's turn
+     *
+     * @param   player the character of the player whose turn it is now
+     *
+     * @pre     [the game is not over]
+     *
+     * @post    [the listener has seen the change of turn]
+     */
+    public void turnChanged(char player);
+
+    /**
+     * This function is called when a move wins the game
+     *
+     * @param   player the character of the winning player
+     *
+     * @pre     [the game is over and player won it]
+     *
+     * @post    [the listener has seen the win]
+     */
+    public void gameWon(char player);
+
+    /**
+     * This function is called when a move draws the game
+     *
+     * @pre     [the game is over without a winner]
+     *
+     * @post    [the listener has seen the draw]
+     */
+    public void gameDrawn();
+}
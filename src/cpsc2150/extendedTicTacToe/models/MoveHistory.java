@@ -0,0 +1,132 @@
+package cpsc2150.extendedTicTacToe.models;
+import java.util.Arrays;
+
+
+/**
+ * This class is used by the IGameBoard implementations to remember the order markers were placed in,
+ * so the last move can be taken back. Moves are stored as row-major position indexes in a growable char stack:
+ * no board has more than MAXNUMROWS * MAXNUMCOLUMNS = 10,000 positions, so every index fits in 2 bytes, and
+ * the stack never grows past the number of positions on the board
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant 0 ≤ size ≤ moves.length ≤ max(limit, [starting capacity])
+ *            AND 0 ≤ moves[i] ≤ Character.MAX_VALUE
+ *
+ * @correspondence self = moves[0...size-1] with the most recent move at moves[size-1]
+ */
+
+final class MoveHistory {
+    private char[] moves;
+    private int size;
+    private final int limit;
+
+    /**
+     * Parameterized constructor creates an empty history
+     *
+     * @param   capacity the number of moves to make room for up front
+     * @param   max      the most moves the history can ever hold, the number of positions on the board
+     *
+     * @pre     0 < capacity AND 0 < max ≤ Character.MAX_VALUE + 1
+     *
+     * @post    self = [] AND moves.length = capacity AND limit = max
+     */
+    MoveHistory(int capacity, int max) {
+        moves = new char[capacity];
+        size = 0;
+        limit = max;
+    }
+
+    /**
+     * Copy constructor creates a history with the same moves as another
+     *
+     * @param   other the history to copy
+     *
+     * @pre     NONE
+     *
+     * @post    self = other AND [changes to self do not change other]
+     */
+    MoveHistory(MoveHistory other) {
+        moves = other.moves.clone();
+        size = other.size;
+        limit = other.limit;
+    }
+
+    /**
+     * This function returns the number of moves in the history
+     *
+     * @return  the number of moves
+     *
+     * @pre     NONE
+     *
+     * @post    size = |self| AND self = #self
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * This function returns a move from the history
+     *
+     * @param   i how many moves after the first move the requested move was made
+     * @return  the position index of the move
+     *
+     * @pre     0 ≤ i < size()
+     *
+     * @post    get = moves[i] AND self = #self
+     */
+    int get(int i) {
+        return moves[i];
+    }
+
+    /**
+     * This function adds a move to the end of the history
+     *
+     * @param   index the position index of the move
+     *
+     * @pre     0 ≤ index ≤ Character.MAX_VALUE
+     *
+     * @post    self = #self o [index]
+     */
+    void push(int index) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, Math.max(size + 1, Math.min(size * 2, limit)));
+        }
+        moves[size] = (char) index;
+        size++;
+    }
+
+    /**
+     * This function removes the most recent move from the history
+     *
+     * @return  the position index of the removed move
+     *
+     * @pre     size() > 0
+     *
+     * @post    #self = self o [pop]
+     */
+    int pop() {
+        size--;
+        return moves[size];
+    }
+
+    /**
+     * This function removes a move from anywhere in the history. Searching starts from the most recent
+     * move, so taking back the last move is constant time
+     *
+     * @param   index the position index of the move
+     *
+     * @pre     index is in self
+     *
+     * @post    self = #self with the latest occurrence of index removed
+     */
+    void remove(int index) {
+        int i = size - 1;
+        while (moves[i] != index) {
+            i--;
+        }
+        System.arraycopy(moves, i + 1, moves, i, size - i - 1);
+        size--;
+    }
+}
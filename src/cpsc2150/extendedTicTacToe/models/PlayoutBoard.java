@@ -0,0 +1,401 @@
+package cpsc2150.extendedTicTacToe.models;
+import java.util.Arrays;
+
+
+/**
+ * This class is used to implement IGameBoard for games that are played out over and over from the same
+ * position, like the random playouts of a Monte Carlo search. Everything is allocated once: the markers are a
+ * flat array with a border around it so the win checks need no bounds checks, the empty positions are kept in
+ * a list that a move is swap-removed from, so a random empty position is one array read and a draw is an empty
+ * list, and mark saves the whole board so that reset can put it back with a few System.arraycopy calls
+ * instead of building a new board. Positions are passed around as row-major indexes r * NUMCOLUMNS + c
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant stride = numColumns + 2 AND cells.length = (numRows + 2) * stride
+ *            AND [position index of the board is at cells[index + 2 * (index / numColumns) + stride + 1]]
+ *            AND [every other position of cells holds BORDER]
+ *            AND empty[0...numEmpty-1] = [every index whose position holds ' ', in any order]
+ *            AND (slot[index] = i iff empty[i] = index) AND (slot[index] = -1 iff the position of index holds a marker)
+ *            AND history[0...numMoves-1] = [the index of every marker, in the order they were placed]
+ *            AND numMoves + numEmpty = numRows * numColumns
+ *            AND MINNUM ≤ numRows ≤ MAXNUMROWS
+ *            AND MINNUM ≤ numColumns ≤ MAXNUMCOLUMNS
+ *            AND MINNUM ≤ numTokens ≤ MAXNUMTOKENS
+ *            AND numTokens ≤ numRows
+ *            AND numTokens ≤ numColumns
+ *
+ * @correspondence NUMROWS = numRows AND
+ *                 NUMCOLUMNS = numColumns AND
+ *                 NUMTOKENS = numTokens AND
+ *                 self = [position [r][c] holds cells[(r + 1) * stride + c + 1]]
+ */
+
+public class PlayoutBoard extends AbsGameBoard implements IGameBoard {
+    //a border of one position that never matches a player stops every walk at the edge of the board
+    private static final char BORDER = '\0';
+
+    private final int numRows;
+    private final int numColumns;
+    private final int numTokens;
+    private final int stride;
+    private final int[] steps;
+    private final char[] cells;
+    private final int[] empty;
+    private final int[] slot;
+    private final int[] history;
+    private int numEmpty;
+    private int numMoves;
+
+    //the board saved by mark
+    private final char[] savedCells;
+    private final int[] savedEmpty;
+    private final int[] savedSlot;
+    private final int[] savedHistory;
+    private int savedNumEmpty;
+    private int savedNumMoves;
+
+
+    /**
+     * Parameterized constructor creates an object of the PlayoutBoard class with every position empty
+     *
+     * @param   r represents the number of rows
+     * @param   c represents the number of columns
+     * @param   t represents the number of tokens
+     *
+     * @pre     MINNUM ≤ r ≤ MAXNUMROWS
+     *          AND MINNUM ≤ c ≤ MAXNUMCOLUMNS
+     *          AND MINNUM ≤ t ≤ MAXNUMTOKENS
+     *          AND t ≤ r
+     *          AND t ≤ c
+     *
+     * @post    numRows = r AND numColumns = c AND numTokens = t AND [every position holds ' ']
+     *          AND numMoves = 0 AND numEmpty = r * c AND [the empty board is marked]
+     */
+    public PlayoutBoard(int r, int c, int t) {
+        numRows = r;
+        numColumns = c;
+        numTokens = t;
+        stride = c + 2;
+        //one step along a row, a column, a diagonal and an anti-diagonal
+        steps = new int[] {1, stride, stride + 1, stride - 1};
+        cells = new char[(r + 2) * stride];
+        for (int i = 0; i < r; i++) {
+            Arrays.fill(cells, (i + 1) * stride + 1, (i + 1) * stride + 1 + c, ' ');
+        }
+        empty = new int[r * c];
+        slot = new int[r * c];
+        for (int i = 0; i < empty.length; i++) {
+            empty[i] = i;
+            slot[i] = i;
+        }
+        history = new int[r * c];
+        numEmpty = empty.length;
+        numMoves = 0;
+
+        savedCells = new char[cells.length];
+        savedEmpty = new int[empty.length];
+        savedSlot = new int[slot.length];
+        savedHistory = new int[history.length];
+        mark();
+    }
+
+    /**
+     * Parameterized constructor creates an object of the PlayoutBoard class holding the markers of another board
+     *
+     * @param   board the board to copy the markers from
+     *
+     * @pre     [the size and number to win of board satisfy the preconditions of PlayoutBoard(r, c, t)]
+     *
+     * @post    [self holds the markers of board, placed row by row] AND [that position is marked]
+     */
+    public PlayoutBoard(IGameBoard board) {
+        this(board.getNumRows(), board.getNumColumns(), board.getNumToWin());
+        for (int r = 0; r < numRows; r++) {
+            for (int c = 0; c < numColumns; c++) {
+                char player = board.whatsAtPos(BoardPosition.of(r, c));
+                if (player != ' ') {
+                    place(r * numColumns + c, player);
+                }
+            }
+        }
+        mark();
+    }
+
+    /**
+     * Copy constructor creates an object of the PlayoutBoard class with the same markers, history and mark
+     * as another
+     *
+     * @param   other the board to copy
+     *
+     * @pre     NONE
+     *
+     * @post    self = other AND [changes to self do not change other]
+     */
+    private PlayoutBoard(PlayoutBoard other) {
+        numRows = other.numRows;
+        numColumns = other.numColumns;
+        numTokens = other.numTokens;
+        stride = other.stride;
+        steps = other.steps;
+        cells = other.cells.clone();
+        empty = other.empty.clone();
+        slot = other.slot.clone();
+        history = other.history.clone();
+        numEmpty = other.numEmpty;
+        numMoves = other.numMoves;
+        savedCells = other.savedCells.clone();
+        savedEmpty = other.savedEmpty.clone();
+        savedSlot = other.savedSlot.clone();
+        savedHistory = other.savedHistory.clone();
+        savedNumEmpty = other.savedNumEmpty;
+        savedNumMoves = other.savedNumMoves;
+    }
+
+    public int getNumRows() {
+        return numRows;
+    }
+
+
+    public int getNumColumns(){
+        return numColumns;
+    }
+
+
+    public int getNumToWin() {
+        return numTokens;
+    }
+
+
+    public char whatsAtPos(BoardPosition pos) {
+        return cells[(pos.getRow() + 1) * stride + pos.getColumn() + 1];
+    }
+
+
+    public void placeMarker(BoardPosition marker, char player) {
+        place(marker.getRow() * numColumns + marker.getColumn(), player);
+    }
+
+
+    public void removeMarker(BoardPosition marker) {
+        int index = marker.getRow() * numColumns + marker.getColumn();
+        clear(index);
+        int at = numMoves - 1;
+        while (history[at] != index) {
+            at--;
+        }
+        System.arraycopy(history, at + 1, history, at, numMoves - at - 1);
+        numMoves--;
+    }
+
+
+    public BoardPosition undo() {
+        if (numMoves == 0) {
+            return null;
+        }
+        numMoves--;
+        int index = history[numMoves];
+        clear(index);
+        return BoardPosition.of(index / numColumns, index % numColumns);
+    }
+
+    public IGameBoard copy() {
+        return new PlayoutBoard(this);
+    }
+
+    @Override
+    public boolean checkSpace(BoardPosition pos) {
+        int r = pos.getRow();
+        int c = pos.getColumn();
+        return r >= 0 && r < numRows && c >= 0 && c < numColumns && cells[(r + 1) * stride + c + 1] == ' ';
+    }
+
+    @Override
+    public boolean isPlayerAtPos(BoardPosition pos, char player) {
+        return cells[(pos.getRow() + 1) * stride + pos.getColumn() + 1] == player;
+    }
+
+    @Override
+    public boolean checkForWinner(BoardPosition lastPos) {
+        return wins((lastPos.getRow() + 1) * stride + lastPos.getColumn() + 1);
+    }
+
+    @Override
+    public int getNumMarkers() {
+        return numMoves;
+    }
+
+    @Override
+    public boolean checkForDraw() {
+        return numEmpty == 0;
+    }
+
+    /**
+     * This function places a marker and reports if it won the game
+     *
+     * @param   index  the row-major index of the position
+     * @param   player the player placing the marker
+     * @return  True if the marker completes a run of numTokens or more and False otherwise
+     *
+     * @pre     0 ≤ index < numRows * numColumns AND [the position of index holds ' '] AND player ≠ ' '
+     *
+     * @post    [the position of index holds player] AND [index is out of empty and at the end of history]
+     *          AND place = [a run of at least numTokens of player goes through index]
+     */
+    public boolean place(int index, char player) {
+        int at = index + 2 * (index / numColumns) + stride + 1;
+        cells[at] = player;
+        //swap the last empty position into the one being filled
+        int hole = slot[index];
+        numEmpty--;
+        int last = empty[numEmpty];
+        empty[hole] = last;
+        slot[last] = hole;
+        slot[index] = -1;
+        history[numMoves] = index;
+        numMoves++;
+        return wins(at);
+    }
+
+    /**
+     * This function returns the number of empty positions
+     *
+     * @return  the number of positions holding ' '
+     *
+     * @pre     NONE
+     *
+     * @post    getNumEmpty = numEmpty
+     */
+    public int getNumEmpty() {
+        return numEmpty;
+    }
+
+    /**
+     * This function returns one of the empty positions, so a random one is getEmpty(random.nextInt(getNumEmpty()))
+     *
+     * @param   i the place of the position in the list of empty positions
+     * @return  the row-major index of the position
+     *
+     * @pre     0 ≤ i < numEmpty
+     *
+     * @post    getEmpty = empty[i]
+     */
+    public int getEmpty(int i) {
+        return empty[i];
+    }
+
+    /**
+     * This function returns the marker at a position
+     *
+     * @param   index the row-major index of the position
+     * @return  the marker, or ' ' if the position is empty
+     *
+     * @pre     0 ≤ index < numRows * numColumns
+     *
+     * @post    getMarker = [the marker at the position of index]
+     */
+    public char getMarker(int index) {
+        return cells[index + 2 * (index / numColumns) + stride + 1];
+    }
+
+    /**
+     * This function reports if any of the up to 8 positions around a position holds a marker
+     *
+     * @param   index the row-major index of the position
+     * @return  True if a neighbouring position holds a marker and False otherwise
+     *
+     * @pre     0 ≤ index < numRows * numColumns
+     *
+     * @post    self = #self
+     */
+    public boolean hasNeighbor(int index) {
+        int at = index + 2 * (index / numColumns) + stride + 1;
+        for (int step : steps) {
+            char before = cells[at - step];
+            char after = cells[at + step];
+            if ((before != ' ' && before != BORDER) || (after != ' ' && after != BORDER)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This function saves the board as it is now, for reset to go back to
+     *
+     * @pre     NONE
+     *
+     * @post    [the saved board = self]
+     */
+    public void mark() {
+        System.arraycopy(cells, 0, savedCells, 0, cells.length);
+        System.arraycopy(empty, 0, savedEmpty, 0, empty.length);
+        System.arraycopy(slot, 0, savedSlot, 0, slot.length);
+        System.arraycopy(history, 0, savedHistory, 0, numMoves);
+        savedNumEmpty = numEmpty;
+        savedNumMoves = numMoves;
+    }
+
+    /**
+     * This function puts the board back to how it was at the last mark
+     *
+     * @pre     NONE
+     *
+     * @post    self = [the saved board]
+     */
+    public void reset() {
+        System.arraycopy(savedCells, 0, cells, 0, cells.length);
+        System.arraycopy(savedEmpty, 0, empty, 0, empty.length);
+        System.arraycopy(savedSlot, 0, slot, 0, slot.length);
+        System.arraycopy(savedHistory, 0, history, 0, savedNumMoves);
+        numEmpty = savedNumEmpty;
+        numMoves = savedNumMoves;
+    }
+
+    /**
+     * This function empties a position and puts it back on the list of empty positions
+     *
+     * @param   index the row-major index of the position
+     *
+     * @pre     0 ≤ index < numRows * numColumns AND [the position of index holds a marker]
+     *
+     * @post    [the position of index holds ' '] AND empty[#numEmpty] = index AND numEmpty = #numEmpty + 1
+     */
+    private void clear(int index) {
+        cells[index + 2 * (index / numColumns) + stride + 1] = ' ';
+        empty[numEmpty] = index;
+        slot[index] = numEmpty;
+        numEmpty++;
+    }
+
+    /**
+     * This function reports if the marker at a position is part of a run long enough to win
+     *
+     * @param   at the index in cells of the position
+     * @return  True if a run of at least numTokens of the marker goes through the position and False otherwise
+     *
+     * @pre     [at is the index in cells of a position on the board]
+     *
+     * @post    self = #self
+     */
+    private boolean wins(int at) {
+        char player = cells[at];
+        if (player == ' ') {
+            return false;
+        }
+        for (int step : steps) {
+            int run = 1;
+            for (int i = at + step; cells[i] == player; i += step) {
+                run++;
+            }
+            for (int i = at - step; cells[i] == player; i -= step) {
+                run++;
+            }
+            if (run >= numTokens) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
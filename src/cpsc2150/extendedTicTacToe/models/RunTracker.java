@@ -0,0 +1,241 @@
+package cpsc2150.extendedTicTacToe.models;
+import java.util.Arrays;
+
+
+/**
+ * This class is used by GameBoard to keep the length of the run of markers through every position, in each of
+ * the four directions, up to date as markers are placed and removed. Placing a marker joins the runs on either
+ * side of it and removing one splits its run back up, rewriting only the positions of the runs involved,
+ * so the length of the run through any position can be read without walking the board. It keeps its own
+ * flat copy of the markers with a border around it, so the walks need no bounds checks
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant stride = NUMCOLUMNS + 2 AND cells.length = runs[d].length = (NUMROWS + 2) * stride for every d
+ *            AND [position [r][c] of the board is at index [r][c] = (r + 1) * stride + c + 1 of cells and runs]
+ *            AND [every index of cells outside the board holds BORDER]
+ *            AND runs[d][[r][c]] = [number of consecutive positions holding cells[[r][c]] along
+ *            direction d through [r][c], or 0 if cells[[r][c]] = ' ']
+ *
+ * @correspondence self = [the markers in cells and their runs in runs]
+ */
+
+final class RunTracker {
+    //a border of one position that never matches a player stops every walk at the edge of the board
+    private static final char BORDER = '\0';
+
+    //batches of at least 1/BATCH_RATIO of the board are measured in one pass instead of marker by marker
+    private static final int BATCH_RATIO = 8;
+
+    private final char[] cells;
+    private final byte[][] runs;
+    private final int[] steps;
+    private final int stride;
+
+    /**
+     * Parameterized constructor creates the runs of an empty board
+     *
+     * @param   r the number of rows of the board
+     * @param   c the number of columns of the board
+     *
+     * @pre     MINNUM ≤ r ≤ MAXNUMROWS AND MINNUM ≤ c ≤ MAXNUMCOLUMNS
+     *
+     * @post    [cells is an empty board of r x c inside a border] AND [every run is 0]
+     */
+    RunTracker(int r, int c) {
+        stride = c + 2;
+        cells = new char[(r + 2) * stride];
+        for (int i = 0; i < r; i++) {
+            Arrays.fill(cells, (i + 1) * stride + 1, (i + 1) * stride + 1 + c, ' ');
+        }
+        //one step along a row, a column, a diagonal and an anti-diagonal, indexed by GameBoard.HORIZONTAL and so on
+        steps = new int[] {1, stride, stride + 1, stride - 1};
+        runs = new byte[steps.length][cells.length];
+    }
+
+    /**
+     * Copy constructor creates runs with the same lengths as another
+     *
+     * @param   other the runs to copy
+     *
+     * @pre     NONE
+     *
+     * @post    self = other AND [changes to self do not change other]
+     */
+    RunTracker(RunTracker other) {
+        stride = other.stride;
+        steps = other.steps;
+        cells = other.cells.clone();
+        runs = new byte[other.runs.length][];
+        for (int d = 0; d < runs.length; d++) {
+            runs[d] = other.runs[d].clone();
+        }
+    }
+
+    /**
+     * This function returns the length of the run through a position in one direction
+     *
+     * @param   r         the row of the position
+     * @param   c         the column of the position
+     * @param   direction the direction of the run
+     * @return  the number of consecutive positions holding the marker at [r][c] along direction
+     *
+     * @pre     [r][c] is on the board AND 0 ≤ direction < 4
+     *
+     * @post    get = runs[direction][[r][c]] AND self = #self
+     */
+    int get(int r, int c, int direction) {
+        return runs[direction][(r + 1) * stride + c + 1];
+    }
+
+    /**
+     * This function returns the length of the longest run through a position in any direction
+     *
+     * @param   r the row of the position
+     * @param   c the column of the position
+     * @return  the longest of the four runs through [r][c]
+     *
+     * @pre     [r][c] is on the board
+     *
+     * @post    longest = [max of runs[d][[r][c]] over every d] AND self = #self
+     */
+    int longest(int r, int c) {
+        int index = (r + 1) * stride + c + 1;
+        return Math.max(Math.max(runs[0][index], runs[1][index]), Math.max(runs[2][index], runs[3][index]));
+    }
+
+    /**
+     * This function joins a newly placed marker to the runs beside it
+     *
+     * @param   r      the row of the marker
+     * @param   c      the column of the marker
+     * @param   player the player of the marker
+     *
+     * @pre     [r][c] is on the board AND cells[[r][c]] = ' ' AND player ≠ ' '
+     *
+     * @post    cells[[r][c]] = player AND [runs match cells]
+     */
+    void place(int r, int c, char player) {
+        int index = (r + 1) * stride + c + 1;
+        cells[index] = player;
+        for (int d = 0; d < runs.length; d++) {
+            int step = steps[d];
+            byte[] run = runs[d];
+            //the runs beside an empty position both end next to it, so their lengths are already known
+            int before = cells[index - step] == player ? run[index - step] : 0;
+            int after = cells[index + step] == player ? run[index + step] : 0;
+            fill(run, index - before * step, step, before + 1 + after);
+        }
+    }
+
+    /**
+     * This function splits the runs through a marker as it is removed
+     *
+     * @param   r the row of the marker
+     * @param   c the column of the marker
+     *
+     * @pre     [r][c] is on the board AND cells[[r][c]] ≠ ' '
+     *
+     * @post    cells[[r][c]] = ' ' AND [runs match cells]
+     */
+    void remove(int r, int c) {
+        int index = (r + 1) * stride + c + 1;
+        char player = cells[index];
+        cells[index] = ' ';
+        for (int d = 0; d < runs.length; d++) {
+            int step = steps[d];
+            byte[] run = runs[d];
+            int length = run[index];
+            //walk back to the start of the run, the rest of it lies past the marker
+            int before = 0;
+            while (cells[index - (before + 1) * step] == player) {
+                before++;
+            }
+            fill(run, index - before * step, step, before);
+            run[index] = 0;
+            fill(run, index + step, step, length - before - 1);
+        }
+    }
+
+    /**
+     * This function places a list of markers at once. Large batches write every marker first and then
+     * measure all the runs in one pass over the board, instead of joining runs marker by marker
+     *
+     * @param   rows    the row of each marker
+     * @param   cols    the column of each marker
+     * @param   players the player of each marker
+     *
+     * @pre     rows.length = cols.length = players.length AND
+     *          [every position is on the board, holds ' ' in cells and is different from the others] AND
+     *          [no character in players is ' ']
+     *
+     * @post    cells[[rows[i]][cols[i]]] = players[i] for every i AND [runs match cells]
+     */
+    void placeAll(int[] rows, int[] cols, char[] players) {
+        //joining a marker costs a few writes, a full pass costs a few for every position of the board
+        if (rows.length * BATCH_RATIO < cells.length) {
+            for (int i = 0; i < rows.length; i++) {
+                place(rows[i], cols[i], players[i]);
+            }
+            return;
+        }
+        for (int i = 0; i < rows.length; i++) {
+            cells[(rows[i] + 1) * stride + cols[i] + 1] = players[i];
+        }
+        for (int d = 0; d < runs.length; d++) {
+            int step = steps[d];
+            byte[] run = runs[d];
+            for (int index = 0; index < cells.length; index++) {
+                char player = cells[index];
+                //measure each run from its first position, which comes before the rest of it in cells
+                if (player != ' ' && player != BORDER && cells[index - step] != player) {
+                    int length = 1;
+                    while (cells[index + length * step] == player) {
+                        length++;
+                    }
+                    fill(run, index, step, length);
+                }
+            }
+        }
+    }
+
+    /**
+     * This function finds the first position, going row by row, whose marker has a run of at least some length
+     *
+     * @param   length the length of run to look for
+     * @return  the marker at that position, or ' ' if no run is that long
+     *
+     * @pre     length ≥ 1
+     *
+     * @post    (findRun ≠ ' ' iff some run in runs is at least length long) AND self = #self
+     */
+    char findRun(int length) {
+        for (int index = stride; index < cells.length - stride; index++) {
+            if (runs[0][index] >= length || runs[1][index] >= length
+                    || runs[2][index] >= length || runs[3][index] >= length) {
+                return cells[index];
+            }
+        }
+        return ' ';
+    }
+
+    /**
+     * This function sets the run of consecutive positions along a direction
+     *
+     * @param   run    the runs of the direction to set
+     * @param   index  the index in cells of the first position
+     * @param   step   the change in index for one step along the direction
+     * @param   length the number of positions to set, which is also the value they are set to
+     *
+     * @pre     run is in runs AND [all length positions are on the board along one line] AND length ≤ Byte.MAX_VALUE
+     *
+     * @post    [run at the length positions from index along the direction = length]
+     */
+    private static void fill(byte[] run, int index, int step, int length) {
+        for (int i = 0; i < length; i++) {
+            run[index] = (byte) length;
+            index += step;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package cpsc2150.extendedTicTacToe.models;
+
+
+/**
+ * This class provides the random keys used to hash board states
+ * A board's hash is the XOR of the key of every marker on it, so placing or removing a marker
+ * updates the hash with a single XOR. Keys are made by mixing the position index and player character
+ * with the SplitMix64 finalizer, so any token works without a precomputed table
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ */
+
+public final class Zobrist {
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private Zobrist() {
+    }
+
+    /**
+     * This function returns the key for a player's marker at a position
+     *
+     * @param   index  the row-major index row * NUMCOLUMNS + column of the position
+     * @param   player the player's character
+     * @return  the key of the marker
+     *
+     * @pre     index ≥ 0
+     *
+     * @post    key = [the same value every time it is called with index and player]
+     */
+    public static long key(int index, char player) {
+        long z = (((long) player << 32) | index) * SEED + SEED;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
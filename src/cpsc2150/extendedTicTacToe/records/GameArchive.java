@@ -0,0 +1,197 @@
+package cpsc2150.extendedTicTacToe.records;
+
+import cpsc2150.extendedTicTacToe.models.*;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * This class gives random access to the games in a file written by a GameRecordWriter. The file is memory-mapped
+ * in chunks and the start of every record is indexed once when the archive is opened, by hopping from header to
+ * header, so any game can then be read or replayed without reading the ones before it.
+ * A single mapping can be at most 2 GB, so each chunk is mapped with MAX_RECORD_SIZE extra bytes past its end,
+ * which lets every record starting in a chunk be read from that chunk alone
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant chunks[i] maps the file from i * chunkSize for chunkSize + GameRecordFormat.MAX_RECORD_SIZE bytes,
+ *            or to the end of the file if that is sooner
+ *            AND 0 ≤ numRecords ≤ offsets.length
+ *            AND offsets[0...numRecords-1] are the file offsets of the records, in the order they were written
+ *
+ * @correspondence self = [the records of the file, in order]
+ */
+public final class GameArchive implements Closeable {
+    /**
+     * The number of bytes of the file each mapping starts apart
+     */
+    public static final int CHUNK_SIZE = 1 << 30;
+
+    private static final int START_RECORDS = 1024;
+
+    private final int chunkSize;
+    private MappedByteBuffer[] chunks;
+    private long[] offsets;
+    private int numRecords;
+
+    /**
+     * Parameterized constructor maps a file of game records and indexes every record in it
+     *
+     * @param   file the file to open
+     *
+     * @pre     NONE
+     *
+     * @post    self = [the records of file]
+     *
+     * @throws  IOException if file can not be read, is not a game record stream or ends partway through a record
+     */
+    public GameArchive(Path file) throws IOException {
+        this(file, CHUNK_SIZE);
+    }
+
+    /**
+     * Parameterized constructor maps a file of game records in chunks of a given size and indexes every record
+     *
+     * @param   file the file to open
+     * @param   size the number of bytes each mapping starts apart
+     *
+     * @pre     GameRecordFormat.STREAM_HEADER_SIZE ≤ size ≤ Integer.MAX_VALUE - GameRecordFormat.MAX_RECORD_SIZE
+     *
+     * @post    self = [the records of file] AND chunkSize = size
+     *
+     * @throws  IOException if file can not be read, is not a game record stream or ends partway through a record
+     */
+    GameArchive(Path file, int size) throws IOException {
+        chunkSize = size;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < GameRecordFormat.STREAM_HEADER_SIZE) {
+                throw new IOException("Not a game record stream");
+            }
+            int numChunks = (int) ((length - 1) / chunkSize + 1);
+            chunks = new MappedByteBuffer[numChunks];
+            for (int i = 0; i < numChunks; i++) {
+                long start = (long) i * chunkSize;
+                long span = Math.min(chunkSize + (long) GameRecordFormat.MAX_RECORD_SIZE, length - start);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, span);
+            }
+            //the mappings stay valid after the channel is closed
+            GameRecordFormat.readStreamHeader(chunks[0].duplicate());
+            index(length);
+        }
+    }
+
+    /**
+     * This function returns the number of games in the archive
+     *
+     * @return  the number of records
+     *
+     * @pre     NONE
+     *
+     * @post    size = numRecords
+     */
+    public int size() {
+        return numRecords;
+    }
+
+    /**
+     * This function reads one game
+     *
+     * @param   i the number of games written before it
+     * @return  the record of the game
+     *
+     * @pre     0 ≤ i < size()
+     *
+     * @post    get = [the record at offsets[i]] AND self = #self
+     *
+     * @throws  IOException if the record is corrupt
+     */
+    public GameRecord get(int i) throws IOException {
+        long offset = offsets[i];
+        //every reader gets its own view of the mapping, so games can be read from many threads at once
+        ByteBuffer chunk = chunks[(int) (offset / chunkSize)].duplicate();
+        chunk.position((int) (offset % chunkSize));
+        return GameRecordFormat.decode(chunk);
+    }
+
+    /**
+     * This function plays one game onto a board
+     *
+     * @param   i     the number of games written before it
+     * @param   board the board to play on
+     *
+     * @pre     0 ≤ i < size() AND [board matches the size and number to win of the game and has no markers]
+     *
+     * @post    board = [#board after every move of game i]
+     *
+     * @throws  IOException if the record is corrupt
+     */
+    public void replay(int i, IGameBoard board) throws IOException {
+        get(i).replay(board);
+    }
+
+    /**
+     * This function creates a board with one game played on it
+     *
+     * @param   i the number of games written before it
+     * @return  a new GameBoard holding the final position of game i
+     *
+     * @pre     0 ≤ i < size()
+     *
+     * @post    toBoard = get(i).toBoard()
+     *
+     * @throws  IOException if the record is corrupt
+     */
+    public IGameBoard toBoard(int i) throws IOException {
+        return get(i).toBoard();
+    }
+
+    @Override
+    public void close() {
+        //the mappings are released once they are no longer reachable
+        chunks = new MappedByteBuffer[0];
+        offsets = new long[0];
+        numRecords = 0;
+    }
+
+    /**
+     * This function finds the start of every record by reading only the header of each one
+     *
+     * @param   length the length of the file
+     *
+     * @pre     [chunks map the whole file]
+     *
+     * @post    offsets[0...numRecords-1] = [the offset of every record in the file]
+     *
+     * @throws  IOException if a header is corrupt or the last record is cut off
+     */
+    private void index(long length) throws IOException {
+        offsets = new long[START_RECORDS];
+        numRecords = 0;
+        long offset = GameRecordFormat.STREAM_HEADER_SIZE;
+        while (offset < length) {
+            MappedByteBuffer chunk = chunks[(int) (offset / chunkSize)];
+            int local = (int) (offset % chunkSize);
+            if (local + GameRecordFormat.FIXED_HEADER_SIZE > chunk.limit()
+                    || local + GameRecordFormat.headerSize(Byte.toUnsignedInt(chunk.get(local + 3))) > chunk.limit()) {
+                throw new IOException("Game record cut off at offset " + offset);
+            }
+            int size = GameRecordFormat.recordSize(chunk, local);
+            if (offset + size > length) {
+                throw new IOException("Game record cut off at offset " + offset);
+            }
+            if (numRecords == offsets.length) {
+                offsets = Arrays.copyOf(offsets, numRecords * 2);
+            }
+            offsets[numRecords] = offset;
+            numRecords++;
+            offset += size;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package cpsc2150.extendedTicTacToe.records;
+
+import cpsc2150.extendedTicTacToe.models.*;
+import java.util.Arrays;
+
+/**
+ * This class holds one complete game: the board it was played on, the players in turn order and every move
+ * as a row-major position index. The player of each move is not stored, since the seats always take turns
+ * in order, so move i was made by players[i mod players.length]
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant MINNUM ≤ numRows ≤ MAXNUMROWS
+ *            AND MINNUM ≤ numColumns ≤ MAXNUMCOLUMNS
+ *            AND MINNUM ≤ numToWin ≤ min(numRows, numColumns)
+ *            AND 1 ≤ players.length ≤ GameRecordFormat.MAX_PLAYERS
+ *            AND [every index in moves is between 0 and numRows * numColumns - 1 and different from the others]
+ *            AND numRows, numColumns, numToWin, players and moves never change after construction
+ *
+ * @correspondence self = [a game of numToWin in a row on a numRows x numColumns board where move i placed
+ *                 players[i mod |players|] on position [moves[i] / numColumns][moves[i] mod numColumns]]
+ */
+public final class GameRecord {
+    private final int numRows;
+    private final int numColumns;
+    private final int numToWin;
+    private final char[] players;
+    private final int[] moves;
+
+    /**
+     * Parameterized constructor creates a record of a game
+     *
+     * @param   r       the number of rows of the board
+     * @param   c       the number of columns of the board
+     * @param   t       the number of tokens in a row needed to win
+     * @param   p       the character of each seat, in the order the seats take turns
+     * @param   m       the row-major index row * c + column of every move, in the order they were played
+     *
+     * @pre     MINNUM ≤ r ≤ MAXNUMROWS AND MINNUM ≤ c ≤ MAXNUMCOLUMNS AND MINNUM ≤ t ≤ min(r, c)
+     *          AND 1 ≤ p.length ≤ GameRecordFormat.MAX_PLAYERS
+     *          AND [every index in m is between 0 and r * c - 1 and different from the others]
+     *
+     * @post    numRows = r AND numColumns = c AND numToWin = t AND players = p AND moves = m
+     */
+    public GameRecord(int r, int c, int t, char[] p, int[] m) {
+        numRows = r;
+        numColumns = c;
+        numToWin = t;
+        players = p.clone();
+        moves = m.clone();
+    }
+
+    /**
+     * This function returns the number of rows of the board
+     *
+     * @return  the number of rows
+     *
+     * @pre     NONE
+     *
+     * @post    getNumRows = numRows
+     */
+    public int getNumRows() {
+        return numRows;
+    }
+
+    /**
+     * This function returns the number of columns of the board
+     *
+     * @return  the number of columns
+     *
+     * @pre     NONE
+     *
+     * @post    getNumColumns = numColumns
+     */
+    public int getNumColumns() {
+        return numColumns;
+    }
+
+    /**
+     * This function returns the number of tokens in a row needed to win
+     *
+     * @return  the number to win
+     *
+     * @pre     NONE
+     *
+     * @post    getNumToWin = numToWin
+     */
+    public int getNumToWin() {
+        return numToWin;
+    }
+
+    /**
+     * This function returns the character of every seat
+     *
+     * @return  a copy of the players, in the order they take turns
+     *
+     * @pre     NONE
+     *
+     * @post    getPlayers = players
+     */
+    public char[] getPlayers() {
+        return players.clone();
+    }
+
+    /**
+     * This function returns the number of moves in the game
+     *
+     * @return  the number of moves
+     *
+     * @pre     NONE
+     *
+     * @post    getNumMoves = |moves|
+     */
+    public int getNumMoves() {
+        return moves.length;
+    }
+
+    /**
+     * This function returns the position of a move
+     *
+     * @param   i the number of moves played before it
+     * @return  the position the move was played on
+     *
+     * @pre     0 ≤ i < getNumMoves()
+     *
+     * @post    getMove = [position [moves[i] / numColumns][moves[i] mod numColumns]]
+     */
+    public BoardPosition getMove(int i) {
+        return BoardPosition.of(moves[i] / numColumns, moves[i] % numColumns);
+    }
+
+    /**
+     * This function returns the player that made a move
+     *
+     * @param   i the number of moves played before it
+     * @return  the character of the player that made the move
+     *
+     * @pre     0 ≤ i < getNumMoves()
+     *
+     * @post    getPlayer = players[i mod |players|]
+     */
+    public char getPlayer(int i) {
+        return players[i % players.length];
+    }
+
+    /**
+     * This function returns the row-major index of a move
+     *
+     * @param   i the number of moves played before it
+     * @return  the index row * numColumns + column of the move
+     *
+     * @pre     0 ≤ i < getNumMoves()
+     *
+     * @post    getMoveIndex = moves[i]
+     */
+    public int getMoveIndex(int i) {
+        return moves[i];
+    }
+
+    /**
+     * This function plays the first moves of the game onto a board in one batch
+     *
+     * @param   board    the board to play on
+     * @param   numMoves the number of moves to play
+     *
+     * @pre     [board is numRows x numColumns with numToWin to win and no markers on the recorded positions]
+     *          AND 0 ≤ numMoves ≤ getNumMoves()
+     *
+     * @post    board = [#board after placing players[i mod |players|] on moves[i] for each i < numMoves]
+     */
+    public void replay(IGameBoard board, int numMoves) {
+        int[] rows = new int[numMoves];
+        int[] cols = new int[numMoves];
+        char[] marks = new char[numMoves];
+        for (int i = 0; i < numMoves; i++) {
+            rows[i] = moves[i] / numColumns;
+            cols[i] = moves[i] % numColumns;
+            marks[i] = players[i % players.length];
+        }
+        board.placeMarkers(rows, cols, marks);
+    }
+
+    /**
+     * This function plays the whole game onto a board in one batch
+     *
+     * @param   board the board to play on
+     *
+     * @pre     [board is numRows x numColumns with numToWin to win and no markers on the recorded positions]
+     *
+     * @post    board = [#board after every move of the game]
+     */
+    public void replay(IGameBoard board) {
+        replay(board, moves.length);
+    }
+
+    /**
+     * This function creates a board with the whole game played on it
+     *
+     * @return  a new GameBoard holding the final position of the game
+     *
+     * @pre     NONE
+     *
+     * @post    toBoard = [new GameBoard(numRows, numColumns, numToWin) after every move of the game]
+     */
+    public IGameBoard toBoard() {
+        IGameBoard board = new GameBoard(numRows, numColumns, numToWin);
+        replay(board);
+        return board;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof GameRecord)) {
+            return false;
+        }
+        GameRecord other = (GameRecord) obj;
+        return numRows == other.numRows && numColumns == other.numColumns && numToWin == other.numToWin
+                && Arrays.equals(players, other.players) && Arrays.equals(moves, other.moves);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 31 * (31 * numRows + numColumns) + numToWin;
+        result = 31 * result + Arrays.hashCode(players);
+        return 31 * result + Arrays.hashCode(moves);
+    }
+}
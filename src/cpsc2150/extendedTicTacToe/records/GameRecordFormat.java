@@ -0,0 +1,249 @@
+package cpsc2150.extendedTicTacToe.records;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * This class defines the binary layout shared by GameRecordWriter, GameRecordReader and GameArchive.
+ * A stream starts with MAGIC and VERSION, then holds records back to back, each laid out as
+ * <pre>
+ *   rows       1 byte
+ *   columns    1 byte
+ *   numToWin   1 byte
+ *   numPlayers 1 byte
+ *   players    2 bytes per player, in turn order
+ *   numMoves   2 bytes
+ *   moves      the row-major index of every move in ceil(log2(rows * columns)) bits, packed high bit first
+ *              and padded with 0 bits to a whole byte
+ * </pre>
+ * Multi-byte values are big-endian. A full 20x20 game of 400 moves takes 9 bits a move, so 450 bytes
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ */
+final class GameRecordFormat {
+    /**
+     * The first 4 bytes of every stream, "TTTR"
+     */
+    static final int MAGIC = 0x54545452;
+
+    static final byte VERSION = 1;
+
+    static final int STREAM_HEADER_SIZE = Integer.BYTES + 1;
+
+    /**
+     * The number of bytes before the players in a record header
+     */
+    static final int FIXED_HEADER_SIZE = 4;
+
+    static final int MIN_SIZE = 3;
+
+    static final int MAX_SIZE = 100;
+
+    static final int MAX_PLAYERS = 255;
+
+    /**
+     * The most bytes a record can take, for MAX_PLAYERS on a full MAX_SIZE x MAX_SIZE board
+     */
+    static final int MAX_RECORD_SIZE = headerSize(MAX_PLAYERS) + moveBytes(MAX_SIZE, MAX_SIZE, MAX_SIZE * MAX_SIZE);
+
+    private GameRecordFormat() {
+    }
+
+    /**
+     * This function returns the number of bits each move of a board takes
+     *
+     * @param   rows the number of rows of the board
+     * @param   cols the number of columns of the board
+     * @return  the fewest bits that can hold every position index of the board
+     *
+     * @pre     rows * cols ≥ 2
+     *
+     * @post    bitsPerMove = ceil(log2(rows * cols))
+     */
+    static int bitsPerMove(int rows, int cols) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(rows * cols - 1);
+    }
+
+    /**
+     * This function returns the size of a record header
+     *
+     * @param   numPlayers the number of players in the record
+     * @return  the number of bytes before the moves
+     *
+     * @pre     0 ≤ numPlayers ≤ MAX_PLAYERS
+     *
+     * @post    headerSize = FIXED_HEADER_SIZE + 2 * numPlayers + 2
+     */
+    static int headerSize(int numPlayers) {
+        return FIXED_HEADER_SIZE + Character.BYTES * numPlayers + Short.BYTES;
+    }
+
+    /**
+     * This function returns the size of the packed moves of a record
+     *
+     * @param   rows     the number of rows of the board
+     * @param   cols     the number of columns of the board
+     * @param   numMoves the number of moves
+     * @return  the number of bytes the moves take
+     *
+     * @pre     rows * cols ≥ 2 AND numMoves ≥ 0
+     *
+     * @post    moveBytes = ceil(numMoves * bitsPerMove(rows, cols) / 8)
+     */
+    static int moveBytes(int rows, int cols, int numMoves) {
+        return (numMoves * bitsPerMove(rows, cols) + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    /**
+     * This function reads the size of a record from its header, without reading the moves
+     *
+     * @param   in     the buffer holding the record
+     * @param   offset the index in in where the record starts
+     * @return  the number of bytes the record takes
+     *
+     * @pre     [in holds the whole header of a record at offset]
+     *
+     * @post    in = #in
+     *
+     * @throws  IOException if the header describes an impossible board or game
+     */
+    static int recordSize(ByteBuffer in, int offset) throws IOException {
+        int rows = Byte.toUnsignedInt(in.get(offset));
+        int cols = Byte.toUnsignedInt(in.get(offset + 1));
+        int header = headerSize(Byte.toUnsignedInt(in.get(offset + 3)));
+        int numMoves = Short.toUnsignedInt(in.getShort(offset + header - Short.BYTES));
+        if (rows < MIN_SIZE || rows > MAX_SIZE || cols < MIN_SIZE || cols > MAX_SIZE || numMoves > rows * cols) {
+            throw new IOException("Corrupt game record: " + numMoves + " moves on a " + rows + "x" + cols + " board");
+        }
+        return header + moveBytes(rows, cols, numMoves);
+    }
+
+    /**
+     * This function writes the header that starts every stream
+     *
+     * @param   out the buffer to write to
+     *
+     * @pre     out.remaining() ≥ STREAM_HEADER_SIZE
+     *
+     * @post    [out holds MAGIC and VERSION at its old position] AND out.position() = #out.position() + STREAM_HEADER_SIZE
+     */
+    static void writeStreamHeader(ByteBuffer out) {
+        out.putInt(MAGIC);
+        out.put(VERSION);
+    }
+
+    /**
+     * This function reads and checks the header that starts every stream
+     *
+     * @param   in the buffer to read from
+     *
+     * @pre     in.remaining() ≥ STREAM_HEADER_SIZE
+     *
+     * @post    in.position() = #in.position() + STREAM_HEADER_SIZE
+     *
+     * @throws  IOException if in does not start with MAGIC and VERSION
+     */
+    static void readStreamHeader(ByteBuffer in) throws IOException {
+        if (in.getInt() != MAGIC) {
+            throw new IOException("Not a game record stream");
+        }
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported game record version " + version);
+        }
+    }
+
+    /**
+     * This function writes a record
+     *
+     * @param   record the record to write
+     * @param   out    the buffer to write to
+     *
+     * @pre     out.remaining() ≥ MAX_RECORD_SIZE AND numRows, numColumns and numToWin of record are at most 255
+     *          AND |players| ≤ MAX_PLAYERS AND numMoves ≤ 65535
+     *
+     * @post    [out holds record at its old position] AND [out.position() is just past it]
+     */
+    static void encode(GameRecord record, ByteBuffer out) {
+        char[] players = record.getPlayers();
+        int bits = bitsPerMove(record.getNumRows(), record.getNumColumns());
+        out.put((byte) record.getNumRows());
+        out.put((byte) record.getNumColumns());
+        out.put((byte) record.getNumToWin());
+        out.put((byte) players.length);
+        for (char player : players) {
+            out.putChar(player);
+        }
+        out.putShort((short) record.getNumMoves());
+
+        //shift each move in below the last and write out every whole byte as soon as there is one
+        long pending = 0;
+        int numPending = 0;
+        for (int i = 0; i < record.getNumMoves(); i++) {
+            pending = (pending << bits) | record.getMoveIndex(i);
+            numPending += bits;
+            while (numPending >= Byte.SIZE) {
+                numPending -= Byte.SIZE;
+                out.put((byte) (pending >>> numPending));
+            }
+        }
+        if (numPending > 0) {
+            out.put((byte) (pending << (Byte.SIZE - numPending)));
+        }
+    }
+
+    /**
+     * This function reads a record
+     *
+     * @param   in the buffer to read from
+     * @return  the record
+     *
+     * @pre     [in holds a whole record at its position]
+     *
+     * @post    [in.position() is just past the record]
+     *
+     * @throws  IOException if the record describes an impossible board or game
+     */
+    static GameRecord decode(ByteBuffer in) throws IOException {
+        int rows = Byte.toUnsignedInt(in.get());
+        int cols = Byte.toUnsignedInt(in.get());
+        int numToWin = Byte.toUnsignedInt(in.get());
+        int numPlayers = Byte.toUnsignedInt(in.get());
+        if (rows < MIN_SIZE || rows > MAX_SIZE || cols < MIN_SIZE || cols > MAX_SIZE) {
+            throw new IOException("Corrupt game record: board of " + rows + "x" + cols);
+        }
+        if (numToWin < MIN_SIZE || numToWin > Math.min(rows, cols) || numPlayers == 0) {
+            throw new IOException("Corrupt game record: " + numToWin + " to win with " + numPlayers + " players");
+        }
+        char[] players = new char[numPlayers];
+        for (int p = 0; p < numPlayers; p++) {
+            players[p] = in.getChar();
+        }
+        int numMoves = Short.toUnsignedInt(in.getShort());
+        int cells = rows * cols;
+        if (numMoves > cells) {
+            throw new IOException("Corrupt game record: " + numMoves + " moves on " + cells + " positions");
+        }
+
+        int bits = bitsPerMove(rows, cols);
+        int mask = (1 << bits) - 1;
+        int[] moves = new int[numMoves];
+        boolean[] played = new boolean[cells];
+        long pending = 0;
+        int numPending = 0;
+        for (int i = 0; i < numMoves; i++) {
+            while (numPending < bits) {
+                pending = (pending << Byte.SIZE) | Byte.toUnsignedInt(in.get());
+                numPending += Byte.SIZE;
+            }
+            numPending -= bits;
+            moves[i] = (int) (pending >>> numPending) & mask;
+            if (moves[i] >= cells || played[moves[i]]) {
+                throw new IOException("Corrupt game record: move " + i + " to position " + moves[i]);
+            }
+            played[moves[i]] = true;
+        }
+        return new GameRecord(rows, cols, numToWin, players, moves);
+    }
+}
@@ -0,0 +1,103 @@
+package cpsc2150.extendedTicTacToe.records;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * This class reads back the games written by a GameRecordWriter, one at a time in the order they were written,
+ * so an archive can be replayed without loading all of it
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ */
+public final class GameRecordReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream in;
+    private final byte[] buffer;
+
+    /**
+     * Parameterized constructor creates a reader and checks the stream header
+     *
+     * @param   i the stream to read from, which the reader closes when it is closed
+     *
+     * @pre     i ≠ null
+     *
+     * @post    [the stream header of i is read]
+     *
+     * @throws  IOException if i does not start with a game record stream header
+     */
+    public GameRecordReader(InputStream i) throws IOException {
+        in = new BufferedInputStream(i, BUFFER_SIZE);
+        buffer = new byte[GameRecordFormat.MAX_RECORD_SIZE];
+        if (!readFully(0, GameRecordFormat.STREAM_HEADER_SIZE)) {
+            throw new EOFException("Missing game record stream header");
+        }
+        GameRecordFormat.readStreamHeader(ByteBuffer.wrap(buffer, 0, GameRecordFormat.STREAM_HEADER_SIZE));
+    }
+
+    /**
+     * This function reads the next game
+     *
+     * @return  the next record, or null if every record has been read
+     *
+     * @pre     NONE
+     *
+     * @post    [read is the record after the last one read, and the stream is past it]
+     *
+     * @throws  IOException if the stream ends partway through a record or the record is corrupt
+     */
+    public GameRecord read() throws IOException {
+        int fixed = GameRecordFormat.FIXED_HEADER_SIZE;
+        if (!readFully(0, fixed)) {
+            return null;
+        }
+        //the header has to be read before the size of the rest of the record is known
+        int header = GameRecordFormat.headerSize(Byte.toUnsignedInt(buffer[3]));
+        if (!readFully(fixed, header - fixed)) {
+            throw new EOFException("Game record cut off in its header");
+        }
+        int size = GameRecordFormat.recordSize(ByteBuffer.wrap(buffer), 0);
+        if (!readFully(header, size - header)) {
+            throw new EOFException("Game record cut off in its moves");
+        }
+        return GameRecordFormat.decode(ByteBuffer.wrap(buffer, 0, size));
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * This function fills part of the buffer from the stream
+     *
+     * @param   offset the index in buffer to start filling at
+     * @param   length the number of bytes to read
+     * @return  True if length bytes were read and False if the stream ended before any were
+     *
+     * @pre     0 ≤ offset AND offset + length ≤ buffer.length
+     *
+     * @post    [buffer[offset...offset + length - 1] holds the next length bytes of the stream if readFully = True]
+     *
+     * @throws  EOFException if the stream ends after some of the bytes were read
+     */
+    private boolean readFully(int offset, int length) throws IOException {
+        int done = 0;
+        while (done < length) {
+            int n = in.read(buffer, offset + done, length - done);
+            if (n < 0) {
+                if (done == 0) {
+                    return false;
+                }
+                throw new EOFException("Game record cut off");
+            }
+            done += n;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,91 @@
+package cpsc2150.extendedTicTacToe.records;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * This class writes games to a stream in the binary format of GameRecordFormat, one record after another,
+ * so any number of games can be archived without holding them all in memory. Read them back with a
+ * GameRecordReader
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant numRecords = [number of records written after the stream header]
+ */
+public final class GameRecordWriter implements Closeable, Flushable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final OutputStream out;
+    private final ByteBuffer buffer;
+    private long numRecords;
+
+    /**
+     * Parameterized constructor creates a writer and writes the stream header
+     *
+     * @param   o the stream to write to, which the writer closes when it is closed
+     *
+     * @pre     o ≠ null
+     *
+     * @post    [the stream header is written to o] AND numRecords = 0
+     *
+     * @throws  IOException if the header can not be written
+     */
+    public GameRecordWriter(OutputStream o) throws IOException {
+        out = new BufferedOutputStream(o, BUFFER_SIZE);
+        buffer = ByteBuffer.allocate(GameRecordFormat.MAX_RECORD_SIZE);
+        numRecords = 0;
+        GameRecordFormat.writeStreamHeader(buffer);
+        out.write(buffer.array(), 0, buffer.position());
+    }
+
+    /**
+     * This function writes one game
+     *
+     * @param   record the game to write
+     *
+     * @pre     record ≠ null
+     *
+     * @post    [record is written after the earlier records] AND numRecords = #numRecords + 1
+     *
+     * @throws  IOException if the record can not be written
+     * @throws  IllegalArgumentException if the board, number of players or number of moves is too big for the format
+     */
+    public void write(GameRecord record) throws IOException {
+        if (record.getNumRows() > GameRecordFormat.MAX_SIZE || record.getNumColumns() > GameRecordFormat.MAX_SIZE
+                || record.getPlayers().length > GameRecordFormat.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Game is too big to record");
+        }
+        buffer.clear();
+        GameRecordFormat.encode(record, buffer);
+        out.write(buffer.array(), 0, buffer.position());
+        numRecords++;
+    }
+
+    /**
+     * This function returns the number of games written
+     *
+     * @return  the number of records
+     *
+     * @pre     NONE
+     *
+     * @post    getNumRecords = numRecords
+     */
+    public long getNumRecords() {
+        return numRecords;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,76 @@
+package cpsc2150.extendedTicTacToe.records;
+
+import cpsc2150.extendedTicTacToe.models.*;
+import java.util.Arrays;
+
+/**
+ * This class listens to a GameEngine and remembers every move, so the game can be turned into a GameRecord
+ * at any point. Register it with addListener before the first move
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant 0 ≤ numMoves ≤ moves.length
+ *
+ * @correspondence self = [the game on a numRows x numColumns board with numToWin to win between players,
+ *                 whose moves so far are moves[0...numMoves-1]]
+ */
+public final class GameRecorder implements IGameListener {
+    private static final int START_MOVES = 64;
+
+    private final int numRows;
+    private final int numColumns;
+    private final int numToWin;
+    private final char[] players;
+    private int[] moves;
+    private int numMoves;
+
+    /**
+     * Parameterized constructor creates a recorder for a game
+     *
+     * @param   game the game that will be recorded
+     *
+     * @pre     game.getNumMoves() = 0
+     *
+     * @post    [numRows, numColumns, numToWin and players are those of game] AND numMoves = 0
+     */
+    public GameRecorder(GameEngine game) {
+        IGameBoard board = game.getBoard();
+        numRows = board.getNumRows();
+        numColumns = board.getNumColumns();
+        numToWin = board.getNumToWin();
+        players = game.getPlayers();
+        moves = new int[START_MOVES];
+        numMoves = 0;
+    }
+
+    public void markerPlaced(BoardPosition pos, char player) {
+        if (numMoves == moves.length) {
+            moves = Arrays.copyOf(moves, numMoves * 2);
+        }
+        moves[numMoves] = pos.getRow() * numColumns + pos.getColumn();
+        numMoves++;
+    }
+
+    public void turnChanged(char player) {
+    }
+
+    public void gameWon(char player) {
+    }
+
+    public void gameDrawn() {
+    }
+
+    /**
+     * This function returns a record of the moves so far
+     *
+     * @return  the record of the game
+     *
+     * @pre     NONE
+     *
+     * @post    toRecord = new GameRecord(numRows, numColumns, numToWin, players, moves[0...numMoves-1])
+     */
+    public GameRecord toRecord() {
+        return new GameRecord(numRows, numColumns, numToWin, players, Arrays.copyOf(moves, numMoves));
+    }
+}
@@ -0,0 +1,241 @@
+package cpsc2150.extendedTicTacToe.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class serves one connection to the GameServer on its own thread. It reads one command a line,
+ * answers the commands that only concern this connection itself and passes moves on to its match,
+ * which tells every seat what happened. A session is in at most one match at a time
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant (match = null iff seat = -1) AND (match ≠ null implies [match.seats[seat] = self])
+ *
+ * @correspondence self = [the client on socket, seated at seat of match]
+ */
+final class ClientSession implements Runnable {
+    private final GameServer server;
+    private final Socket socket;
+    private final PrintWriter out;
+    private Match match;
+    private int seat;
+
+    /**
+     * Parameterized constructor creates a session for a new connection
+     *
+     * @param   s the server that accepted the connection
+     * @param   c the connection
+     *
+     * @pre     c is connected
+     *
+     * @post    server = s AND socket = c AND match = null AND seat = -1
+     *
+     * @throws  IOException if the output of the connection can not be opened
+     */
+    ClientSession(GameServer s, Socket c) throws IOException {
+        server = s;
+        socket = c;
+        out = new PrintWriter(new OutputStreamWriter(c.getOutputStream(), StandardCharsets.UTF_8), false);
+        match = null;
+        seat = -1;
+    }
+
+    @Override
+    public void run() {
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            boolean open = true;
+            while (open && (line = in.readLine()) != null) {
+                open = handle(line.trim());
+            }
+        }
+        catch (IOException e) {
+            //the client went away, which is handled the same as QUIT below
+        }
+        finally {
+            leave();
+            server.closed(this);
+            try {
+                socket.close();
+            }
+            catch (IOException e) {
+                //nothing left to do with the connection
+            }
+        }
+    }
+
+    /**
+     * This function sends one line to the client. Lines sent by the threads of other seats are never interleaved
+     *
+     * @param   line the line to send
+     *
+     * @pre     line contains no line breaks
+     *
+     * @post    [line is written to the connection and flushed, or dropped if the connection is gone]
+     */
+    synchronized void send(String line) {
+        out.print(line);
+        out.print('\n');
+        out.flush();
+    }
+
+    /**
+     * This function closes the connection, which ends the thread reading it
+     *
+     * @pre     NONE
+     *
+     * @post    [socket is closed]
+     */
+    void close() {
+        try {
+            socket.close();
+        }
+        catch (IOException e) {
+            //already closed
+        }
+    }
+
+    /**
+     * This function carries out one command
+     *
+     * @param   line the command
+     * @return  False if the client quit and True otherwise
+     *
+     * @pre     line ≠ null
+     *
+     * @post    [the command is carried out, or the client is sent ERROR and why]
+     */
+    private boolean handle(String line) {
+        if (line.isEmpty()) {
+            return true;
+        }
+        String[] words = line.split("\\s+");
+        String command = words[0].toUpperCase();
+        if (command.equals("QUIT")) {
+            leave();
+            send("BYE");
+            return false;
+        }
+        try {
+            if (command.equals("NEW") && words.length == 5) {
+                startMatch(Integer.parseInt(words[1]), Integer.parseInt(words[2]),
+                        Integer.parseInt(words[3]), Integer.parseInt(words[4]));
+            }
+            else if (command.equals("JOIN") && words.length == 2) {
+                joinMatch(server.findMatch(Integer.parseInt(words[1])));
+            }
+            else if (command.equals("MOVE") && words.length == 3) {
+                move(Integer.parseInt(words[1]), Integer.parseInt(words[2]));
+            }
+            else if (command.equals("BOARD") && words.length == 1) {
+                if (match == null) {
+                    send("ERROR Not in a match");
+                }
+                else {
+                    send("BOARD " + match.toFen());
+                }
+            }
+            else {
+                send("ERROR Unknown command: " + line);
+            }
+        }
+        catch (NumberFormatException e) {
+            send("ERROR Expected a number: " + line);
+        }
+        return true;
+    }
+
+    /**
+     * This function creates a match and takes its first seat
+     *
+     * @param   rows       the number of rows
+     * @param   cols       the number of columns
+     * @param   numWin     the number of tokens in a row needed to win
+     * @param   numPlayers the number of seats
+     *
+     * @pre     NONE
+     *
+     * @post    [the client is seated in a new match, or sent ERROR and why]
+     */
+    private void startMatch(int rows, int cols, int numWin, int numPlayers) {
+        String error = GameServer.checkSettings(rows, cols, numWin, numPlayers);
+        if (error != null) {
+            send("ERROR " + error);
+            return;
+        }
+        joinMatch(server.createMatch(rows, cols, numWin, numPlayers));
+    }
+
+    /**
+     * This function takes the next free seat of a match, leaving any match the client was in first
+     *
+     * @param   next the match to join, or null if there is no such match
+     *
+     * @pre     NONE
+     *
+     * @post    [the client is seated in next, or sent ERROR and why]
+     */
+    private void joinMatch(Match next) {
+        if (next == null) {
+            send("ERROR No such match");
+            return;
+        }
+        leave();
+        int nextSeat = next.join(this);
+        if (nextSeat < 0) {
+            send("ERROR Match is full");
+            return;
+        }
+        match = next;
+        seat = nextSeat;
+    }
+
+    /**
+     * This function plays a move in the client's match
+     *
+     * @param   row the row to play on
+     * @param   col the column to play on
+     *
+     * @pre     NONE
+     *
+     * @post    [the move is played and every seat told, or the client is sent ERROR and why]
+     */
+    private void move(int row, int col) {
+        if (match == null) {
+            send("ERROR Not in a match");
+            return;
+        }
+        String error = match.play(seat, row, col);
+        if (error != null) {
+            send("ERROR " + error);
+        }
+        else if (match.isOver()) {
+            server.removeMatch(match);
+        }
+    }
+
+    /**
+     * This function gives up the client's seat, if it has one
+     *
+     * @pre     NONE
+     *
+     * @post    match = null AND seat = -1 AND [#match, if there was one, is told and taken off the server]
+     */
+    private void leave() {
+        if (match != null) {
+            match.leave(seat);
+            if (match.isOver()) {
+                server.removeMatch(match);
+            }
+            match = null;
+            seat = -1;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package cpsc2150.extendedTicTacToe.server;
+
+import cpsc2150.extendedTicTacToe.models.*;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class hosts any number of matches at once for clients connecting over TCP. Every connection is served
+ * by its own thread, and every match plays on its own board with the same GameEngine turn logic as the Swing
+ * game, so matches never share state. Clients send one command a line and the server answers one event a line:
+ * <pre>
+ *   NEW rows cols numToWin players   create a match and take its first seat    JOINED id player
+ *   JOIN id                          take the next free seat of a match         JOINED id player
+ *   MOVE row col                     play a move in the match                   ERROR why, if it is not played
+ *   BOARD                            show the board in AbsGameBoard.toFen form  BOARD fen
+ *   QUIT                             leave the match and disconnect             BYE
+ * </pre>
+ * Every seat of a match is sent START fen once every seat is taken, then MOVED player row col for every move,
+ * followed by WIN player, DRAW or TURN player, and LEFT player when someone leaves. A match ends when it is
+ * won or drawn, or as soon as anyone leaves it before that
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant [every match in matches has not ended] AND [every session in sessions is connected]
+ *
+ * @correspondence self = [the matches in matches, played by the clients of sessions connected to listener]
+ */
+public final class GameServer implements Closeable {
+    /**
+     * The port used when none is given
+     */
+    public static final int DEFAULT_PORT = 2150;
+
+    private static final char[] PLAYERS = {'X','B','C','D','E','F','G','H','I','J'};
+    private static final int MIN_SIZE = 3;
+    private static final int MAX_SIZE = 20;
+    private static final int MIN_TO_WIN = 3;
+    private static final int MIN_NUM_PLAYERS = 2;
+
+    private final ServerSocket listener;
+    private final ExecutorService connections;
+    private final ConcurrentHashMap<Integer, Match> matches;
+    private final Set<ClientSession> sessions;
+    private final AtomicInteger nextId;
+
+    /**
+     * Parameterized constructor creates a server listening on a port
+     *
+     * @param   port the port to listen on, or 0 for any free port
+     *
+     * @pre     0 ≤ port ≤ 65535
+     *
+     * @post    [listener is bound to port] AND matches = {} AND sessions = {}
+     *
+     * @throws  IOException if the port can not be listened on
+     */
+    public GameServer(int port) throws IOException {
+        listener = new ServerSocket(port);
+        //Java 11 has no virtual threads, so an unbounded cached pool gives every connection a thread that is
+        //reused once the connection closes, which is the same thread-per-connection shape
+        connections = Executors.newCachedThreadPool();
+        matches = new ConcurrentHashMap<>();
+        sessions = ConcurrentHashMap.newKeySet();
+        nextId = new AtomicInteger(1);
+    }
+
+    /**
+     * This function returns the port the server is listening on
+     *
+     * @return  the local port of listener
+     *
+     * @pre     NONE
+     *
+     * @post    getPort = [the local port of listener]
+     */
+    public int getPort() {
+        return listener.getLocalPort();
+    }
+
+    /**
+     * This function returns the number of matches that have not ended
+     *
+     * @return  the number of matches
+     *
+     * @pre     NONE
+     *
+     * @post    getNumMatches = |matches|
+     */
+    public int getNumMatches() {
+        return matches.size();
+    }
+
+    /**
+     * This function accepts connections until the server is closed
+     *
+     * @pre     NONE
+     *
+     * @post    [every connection accepted was handed its own ClientSession] AND [listener is closed]
+     *
+     * @throws  IOException if accepting fails for any reason other than the server being closed
+     */
+    public void serve() throws IOException {
+        while (!listener.isClosed()) {
+            Socket socket;
+            try {
+                socket = listener.accept();
+            }
+            catch (SocketException e) {
+                if (listener.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+            socket.setTcpNoDelay(true);
+            ClientSession session = new ClientSession(this, socket);
+            sessions.add(session);
+            connections.execute(session);
+        }
+    }
+
+    /**
+     * This function stops accepting connections and disconnects every client
+     *
+     * @pre     NONE
+     *
+     * @post    [listener and every session are closed] AND [their threads have ended, or a second has passed]
+     *
+     * @throws  IOException if the listener can not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        listener.close();
+        for (ClientSession session : sessions) {
+            session.close();
+        }
+        connections.shutdown();
+        try {
+            connections.awaitTermination(1, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * This function checks the settings of a new match, with the same limits as the game setup screen
+     *
+     * @param   rows       the number of rows
+     * @param   cols       the number of columns
+     * @param   numWin     the number of tokens in a row needed to win
+     * @param   numPlayers the number of players
+     * @return  null if the settings are valid, and what is wrong with them otherwise
+     *
+     * @pre     NONE
+     *
+     * @post    (checkSettings = null iff MIN_SIZE ≤ rows ≤ MAX_SIZE AND MIN_SIZE ≤ cols ≤ MAX_SIZE
+     *          AND MIN_TO_WIN ≤ numWin ≤ min(rows, cols) AND MIN_NUM_PLAYERS ≤ numPlayers ≤ |PLAYERS|)
+     */
+    public static String checkSettings(int rows, int cols, int numWin, int numPlayers) {
+        if (rows < MIN_SIZE || rows > MAX_SIZE || cols < MIN_SIZE || cols > MAX_SIZE) {
+            return "Rows and columns must be between " + MIN_SIZE + " and " + MAX_SIZE;
+        }
+        else if (numWin < MIN_TO_WIN || numWin > Math.min(rows, cols)) {
+            return "Number to win must be between " + MIN_TO_WIN + " and " + Math.min(rows, cols);
+        }
+        else if (numPlayers < MIN_NUM_PLAYERS || numPlayers > PLAYERS.length) {
+            return "Players must be between " + MIN_NUM_PLAYERS + " and " + PLAYERS.length;
+        }
+        return null;
+    }
+
+    /**
+     * This function creates and registers a match
+     *
+     * @param   rows       the number of rows
+     * @param   cols       the number of columns
+     * @param   numWin     the number of tokens in a row needed to win
+     * @param   numPlayers the number of players
+     * @return  the new match, with no one seated
+     *
+     * @pre     checkSettings(rows, cols, numWin, numPlayers) = null
+     *
+     * @post    matches = #matches ∪ {createMatch} AND [createMatch has an id no other match had]
+     */
+    Match createMatch(int rows, int cols, int numWin, int numPlayers) {
+        char[] seats = new char[numPlayers];
+        System.arraycopy(PLAYERS, 0, seats, 0, numPlayers);
+        ConcurrentGameBoard board = new ConcurrentGameBoard(BoardFactory.create(rows, cols, numWin, numPlayers));
+        Match match = new Match(nextId.getAndIncrement(), board, seats);
+        matches.put(match.getId(), match);
+        return match;
+    }
+
+    /**
+     * This function looks up a match that has not ended
+     *
+     * @param   id the id of the match
+     * @return  the match, or null if there is none with that id
+     *
+     * @pre     NONE
+     *
+     * @post    findMatch = [the match in matches with id, or null] AND matches = #matches
+     */
+    Match findMatch(int id) {
+        return matches.get(id);
+    }
+
+    /**
+     * This function takes a match that has ended off the server
+     *
+     * @param   match the match
+     *
+     * @pre     match.isOver()
+     *
+     * @post    matches = #matches - {match}
+     */
+    void removeMatch(Match match) {
+        matches.remove(match.getId(), match);
+    }
+
+    /**
+     * This function forgets a session whose connection has closed
+     *
+     * @param   session the session
+     *
+     * @pre     NONE
+     *
+     * @post    sessions = #sessions - {session}
+     */
+    void closed(ClientSession session) {
+        sessions.remove(session);
+    }
+}
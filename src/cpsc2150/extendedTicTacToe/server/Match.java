@@ -0,0 +1,233 @@
+package cpsc2150.extendedTicTacToe.server;
+
+import cpsc2150.extendedTicTacToe.models.*;
+
+/**
+ * This class is one game hosted by the GameServer. The turn logic is a GameEngine, exactly as in the Swing game,
+ * and the match listens to it to tell every connected seat about each move. All methods are synchronized, since
+ * the seats of a match are served by different threads
+ *
+ * @author Sumanth Pandiri
+ * @version 1.0
+ *
+ * @invariant 0 ≤ numJoined ≤ seats.length AND board = engine.getBoard()
+ *            AND (abandoned implies [no more moves are accepted])
+ *
+ * @correspondence self = [game id played on engine by the sessions in seats, in turn order]
+ */
+final class Match implements IGameListener {
+    private final int id;
+    private final ConcurrentGameBoard board;
+    private final GameEngine engine;
+    private final ClientSession[] seats;
+    private int numJoined;
+    private boolean abandoned;
+
+    /**
+     * Parameterized constructor creates a match waiting for its players
+     *
+     * @param   i       the id players join the match with
+     * @param   b       the empty board to play on
+     * @param   players the character of each seat, in turn order
+     *
+     * @pre     players.length ≥ 2 AND [b has no markers]
+     *
+     * @post    id = i AND board = b AND engine = new GameEngine(b, players, true) AND numJoined = 0
+     *          AND abandoned = false
+     */
+    Match(int i, ConcurrentGameBoard b, char[] players) {
+        id = i;
+        board = b;
+        engine = new GameEngine(b, players, true);
+        engine.addListener(this);
+        seats = new ClientSession[players.length];
+        numJoined = 0;
+        abandoned = false;
+    }
+
+    /**
+     * This function returns the id of the match
+     *
+     * @return  the id
+     *
+     * @pre     NONE
+     *
+     * @post    getId = id
+     */
+    int getId() {
+        return id;
+    }
+
+    /**
+     * This function seats a session in the next free seat and tells it its id and character,
+     * then starts the game once every seat is taken
+     *
+     * @param   session the session joining
+     * @return  the seat of session, or -1 if the match is full or over
+     *
+     * @pre     session ≠ null
+     *
+     * @post    (join ≥ 0 iff #numJoined < seats.length AND NOT abandoned) AND
+     *          (join ≥ 0 implies seats[join] = session AND numJoined = #numJoined + 1 AND
+     *          [session is sent JOINED id player] AND [every seat is told the game started if it is now full])
+     */
+    synchronized int join(ClientSession session) {
+        if (numJoined == seats.length || abandoned) {
+            return -1;
+        }
+        int seat = numJoined;
+        seats[seat] = session;
+        numJoined++;
+        session.send("JOINED " + id + " " + engine.getPlayers()[seat]);
+        if (numJoined == seats.length) {
+            broadcast("START " + board.toFen());
+            broadcast("TURN " + engine.getCurrentPlayer());
+        }
+        return seat;
+    }
+
+    /**
+     * This function plays a move for a seat
+     *
+     * @param   seat the seat moving
+     * @param   row  the row to play on
+     * @param   col  the column to play on
+     * @return  null if the move was played, or why it was not
+     *
+     * @pre     0 ≤ seat < numJoined
+     *
+     * @post    (play = null iff [the game is running, it is seat's turn and [row][col] is free]) AND
+     *          (play = null implies [the move is played and every seat is told about it and what it led to])
+     */
+    synchronized String play(int seat, int row, int col) {
+        if (abandoned) {
+            return "Match was abandoned";
+        }
+        if (numJoined < seats.length) {
+            return "Waiting for players";
+        }
+        if (engine.isGameOver()) {
+            return "Game is over";
+        }
+        if (engine.getCurrentSeat() != seat) {
+            return "Not your turn";
+        }
+        if (row < 0 || row >= board.getNumRows() || col < 0 || col >= board.getNumColumns()) {
+            return "Off the board";
+        }
+        if (!engine.playMove(BoardPosition.of(row, col))) {
+            return "Position is taken";
+        }
+        return null;
+    }
+
+    /**
+     * This function returns the board in the encoding of AbsGameBoard.toFen. It reads a snapshot of the board
+     * instead of taking the lock of the match, so looking at a board never holds up the game
+     *
+     * @return  the FEN of the board
+     *
+     * @pre     NONE
+     *
+     * @post    toFen = [the FEN of the board] AND self = #self
+     */
+    String toFen() {
+        return board.toFen();
+    }
+
+    /**
+     * This function takes a session out of the match. A game that has not ended is abandoned
+     *
+     * @param   seat the seat leaving
+     *
+     * @pre     0 ≤ seat < numJoined AND seats[seat] ≠ null
+     *
+     * @post    seats[seat] = null AND [every other seat is told] AND
+     *          abandoned = (#abandoned OR NOT engine.isGameOver())
+     */
+    synchronized void leave(int seat) {
+        seats[seat] = null;
+        broadcast("LEFT " + engine.getPlayers()[seat]);
+        if (!engine.isGameOver()) {
+            abandoned = true;
+        }
+    }
+
+    /**
+     * This function reports if the match can not take any more moves
+     *
+     * @return  True if the game ended or was abandoned
+     *
+     * @pre     NONE
+     *
+     * @post    isOver = (abandoned OR engine.isGameOver())
+     */
+    synchronized boolean isOver() {
+        return abandoned || engine.isGameOver();
+    }
+
+    /**
+     * This function tells every seat about the event
+     *
+     * @pre     [the caller holds the lock of this match]
+     *
+     * @post    [every seat is sent MOVED player row column]
+     */
+    @Override
+    public void markerPlaced(BoardPosition pos, char player) {
+        broadcast("MOVED " + player + " " + pos.getRow() + " " + pos.getColumn());
+    }
+
+    /**
+     * This function tells every seat about the event
+     *
+     * @pre     [the caller holds the lock of this match]
+     *
+     * @post    [every seat is sent TURN player]
+     */
+    @Override
+    public void turnChanged(char player) {
+        broadcast("TURN " + player);
+    }
+
+    /**
+     * This function tells every seat about the event
+     *
+     * @pre     [the caller holds the lock of this match]
+     *
+     * @post    [every seat is sent WIN player]
+     */
+    @Override
+    public void gameWon(char player) {
+        broadcast("WIN " + player);
+    }
+
+    /**
+     * This function tells every seat about the event
+     *
+     * @pre     [the caller holds the lock of this match]
+     *
+     * @post    [every seat is sent DRAW]
+     */
+    @Override
+    public void gameDrawn() {
+        broadcast("DRAW");
+    }
+
+    /**
+     * This function sends a line to every seated session
+     *
+     * @param   line the line to send
+     *
+     * @pre     [the caller holds the lock of this match]
+     *
+     * @post    [every non-null session in seats was sent line]
+     */
+    private void broadcast(String line) {
+        for (ClientSession session : seats) {
+            if (session != null) {
+                session.send(line);
+            }
+        }
+    }
+}
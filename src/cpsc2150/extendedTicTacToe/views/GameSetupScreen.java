@@ -24,11 +24,14 @@ public final class GameSetupScreen extends JFrame implements ActionListener {
     private JTextArea numColsTxt;
     private final Integer[] players = {2, 3, 4, 5, 6, 7, 8, 9, 10};
     private JComboBox<Integer> numPlayersCB;
+    private final Integer[] computers = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+    private JComboBox<Integer> numComputersCB;
     private JLabel errorMessageLbl;
     private JLabel numRowsLbl;
     private JLabel numColsLbl;
     private JLabel numPlayersLbl;
     private JLabel numWinLbl;
+    private JLabel numComputersLbl;
     private JTextArea numWinTxt;
     private float fontSize = 40;
     private GameSetupController controller;
@@ -51,6 +54,8 @@ public final class GameSetupScreen extends JFrame implements ActionListener {
         numPlayersCB = new JComboBox<>(players);
         numWinLbl = new JLabel("Number to win: ");
         numWinTxt = new JTextArea(1, 10);
+        numComputersLbl = new JLabel("Computer Players: ");
+        numComputersCB = new JComboBox<>(computers);
 
         numRowsLbl.setFont(numRowsLbl.getFont().deriveFont(fontSize));
         numRowsTxt.setFont(numRowsLbl.getFont());
@@ -67,7 +72,10 @@ public final class GameSetupScreen extends JFrame implements ActionListener {
         numWinLbl.setFont(numRowsLbl.getFont());
         numWinTxt.setFont(numRowsLbl.getFont());
 
-        this.setLayout(new GridLayout(6, 1));
+        numComputersLbl.setFont(numRowsLbl.getFont());
+        numComputersCB.setFont(numRowsLbl.getFont());
+
+        this.setLayout(new GridLayout(7, 1));
         this.add(errorMessageLbl);
         JPanel rowsPanel = new JPanel(new GridLayout(1, 2));
         rowsPanel.add(numRowsLbl);
@@ -89,6 +97,10 @@ public final class GameSetupScreen extends JFrame implements ActionListener {
         playersPanel.add(numPlayersCB);
         this.add(playersPanel);
 
+        JPanel computersPanel = new JPanel(new GridLayout(1, 2));
+        computersPanel.add(numComputersLbl);
+        computersPanel.add(numComputersCB);
+        this.add(computersPanel);
 
         submitButton.addActionListener(this);
         this.add(submitButton);
@@ -143,6 +155,7 @@ public final class GameSetupScreen extends JFrame implements ActionListener {
             int numCols = 0;
             int numPlayers = 0;
             int numWin = 0;
+            int numComputers = 0;
 
             try {
                 numRows = Integer.parseInt(numRowsTxt.getText());
@@ -163,9 +176,10 @@ public final class GameSetupScreen extends JFrame implements ActionListener {
             }
 
             numPlayers = numPlayersCB.getItemAt(numPlayersCB.getSelectedIndex());
+            numComputers = numComputersCB.getItemAt(numComputersCB.getSelectedIndex());
 
             if (msg.equals("")) {
-                controller.processButtonClick(numRows, numCols, numPlayers, numWin);
+                controller.processButtonClick(numRows, numCols, numPlayers, numWin, numComputers);
             } else {
                 errorMessageLbl.setText(msg);
             }